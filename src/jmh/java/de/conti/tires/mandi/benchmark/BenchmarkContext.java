@@ -0,0 +1,91 @@
+package de.conti.tires.mandi.benchmark;
+
+import de.conti.tires.mandi.MandiApplication;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Application context shared by all benchmarks of a JMH fork, started once with the in-memory database and the
+ * seed data.
+ */
+public final class BenchmarkContext {
+    private static final String LAB_PREFIX = "Benchmark Lab ";
+    private static final int INSERT_CHUNK = 1000;
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @return running application context, started on first call
+     */
+    public static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            context = new SpringApplicationBuilder(MandiApplication.class)
+                    .properties("server.port=0", "logging.level.root=warn")
+                    .run();
+        }
+        return context;
+    }
+
+    /**
+     * @param type bean type
+     * @param <T>  bean type
+     * @return bean of the running application context
+     */
+    public static <T> T bean(Class<T> type) {
+        return get().getBean(type);
+    }
+
+    /**
+     * @return seeded admin user (detached)
+     */
+    public static UserEntity admin() {
+        return bean(UserRepository.class).findByUserName("admin").orElseThrow();
+    }
+
+    /**
+     * Inserts benchmark laboratories until the given number exists. Laboratories are named
+     * {@code "Benchmark Lab <n>"} and reference the admin as lab user.
+     *
+     * @param count number of benchmark laboratories
+     */
+    public static void ensureLaboratories(int count) {
+        EntityManager entityManager = bean(EntityManager.class);
+        TransactionTemplate transaction = new TransactionTemplate(bean(PlatformTransactionManager.class));
+        long existing = transaction.execute(status -> entityManager
+                .createQuery("SELECT COUNT(l) FROM laboratories l WHERE l.name LIKE :prefix", Long.class)
+                .setParameter("prefix", LAB_PREFIX + "%")
+                .getSingleResult());
+
+        UUID adminUuid = admin().getUuid();
+        for (long start = existing; start < count; start += INSERT_CHUNK) {
+            long from = start;
+            transaction.executeWithoutResult(status -> {
+                UserEntity admin = entityManager.getReference(UserEntity.class, adminUuid);
+                for (long n = from; n < Math.min(count, from + INSERT_CHUNK); n++) {
+                    LaboratoryEntity lab = new LaboratoryEntity();
+                    lab.setName(LAB_PREFIX + n);
+                    lab.setShortName("B" + n);
+                    lab.setResultValue(n);
+                    lab.setLabDate(LocalDateTime.of(2021, 1, 1, 0, 0).plusMinutes(n));
+                    lab.setLabSwitchOn(n % 2 == 0);
+                    lab.setLabUser(admin);
+                    entityManager.persist(lab);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package de.conti.tires.mandi.benchmark;
+
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.util.CloneUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Previous state of a patch: {@link CloneUtils#shallowBeanCopy} (former implementation) compared to
+ * {@link CloneUtils#partialBeanCopy} of the patched properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CloneBenchmark {
+    private static final Set<String> PATCHED = Set.of("labSwitchOn");
+
+    private LaboratoryEntity laboratory;
+
+    @Setup
+    public void setUp() {
+        laboratory = new LaboratoryEntity();
+        laboratory.setUuid(UUID.randomUUID());
+        laboratory.setName("Clone Lab");
+        laboratory.setShortName("CLONE");
+        laboratory.setResultValue(4.2);
+        laboratory.setLabDate(LocalDateTime.of(2021, 1, 1, 0, 0));
+        laboratory.setLabSwitchOn(true);
+    }
+
+    @Benchmark
+    public LaboratoryEntity shallowBeanCopy() {
+        return CloneUtils.shallowBeanCopy(laboratory);
+    }
+
+    @Benchmark
+    public LaboratoryEntity partialBeanCopy() {
+        return CloneUtils.partialBeanCopy(laboratory, PATCHED);
+    }
+}
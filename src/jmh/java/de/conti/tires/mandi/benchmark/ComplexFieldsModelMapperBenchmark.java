@@ -0,0 +1,49 @@
+package de.conti.tires.mandi.benchmark;
+
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.util.ComplexFieldsModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value conversions of {@link ComplexFieldsModelMapper} as used per patched property - including the mapper creation
+ * done once per patch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComplexFieldsModelMapperBenchmark {
+    private final LaboratoryEntity target = new LaboratoryEntity();
+    private ComplexFieldsModelMapper mapper;
+
+    @Setup
+    public void setUp() {
+        mapper = new ComplexFieldsModelMapper(target);
+    }
+
+    @Benchmark
+    public ComplexFieldsModelMapper createMapper() {
+        return new ComplexFieldsModelMapper(target);
+    }
+
+    @Benchmark
+    public LocalDateTime mapDateTime() {
+        return mapper.map("2021-01-01T08:30:00", LocalDateTime.class);
+    }
+
+    @Benchmark
+    public Double mapNumber() {
+        return mapper.map(4.2, Double.class);
+    }
+
+    @Benchmark
+    public Object mapStringList() {
+        return mapper.map("a;b;;c", List.class);
+    }
+}
@@ -0,0 +1,107 @@
+package de.conti.tires.mandi.benchmark;
+
+import de.conti.tires.mandi.backend.core.base.ServiceUtils;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryDetailConverter;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryRepository;
+import de.conti.tires.mandi.backend.laboratory.projection.LaboratoryDetails;
+import de.conti.tires.mandi.backend.user.UserDetailsConverter;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import de.conti.tires.mandi.backend.user.projection.UserDetails;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of a list page to projections: the {@link LaboratoryDetailConverter} (precompiled bean mapper) and
+ * its projection row path compared to the former per call {@link ModelMapper} and a shared one. Also converts
+ * single users with the {@link UserDetailsConverter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+    @Param({ "500" })
+    public int pageSize;
+
+    private LaboratoryDetailConverter laboratoryDetailConverter;
+    private UserDetailsConverter userDetailsConverter;
+    private final ModelMapper sharedModelMapper = new ModelMapper();
+    private List<LaboratoryEntity> laboratories;
+    private List<Tuple> rows;
+    private UserEntity user;
+
+    @Setup
+    public void setUp() {
+        laboratoryDetailConverter = BenchmarkContext.bean(LaboratoryDetailConverter.class);
+        userDetailsConverter = BenchmarkContext.bean(UserDetailsConverter.class);
+        BenchmarkContext.ensureLaboratories(pageSize);
+
+        PageRequest page = PageRequest.of(0, pageSize, Sort.by("name"));
+        rows = BenchmarkContext.bean(LaboratoryRepository.class).findFilteredDetails("BENCHMARK", page).getContent();
+
+        // entities with initialized references, usable outside of the persistence context
+        EntityManager entityManager = BenchmarkContext.bean(EntityManager.class);
+        laboratories = new TransactionTemplate(BenchmarkContext.bean(PlatformTransactionManager.class))
+                .execute(status -> {
+                    List<LaboratoryEntity> content = new ArrayList<>(BenchmarkContext.bean(LaboratoryRepository.class)
+                            .findFilteredSlice("BENCHMARK", page).getContent());
+                    ServiceUtils.preloadReferences(content, entityManager, 2);
+                    return content;
+                });
+        user = laboratories.get(0).getLabUser();
+    }
+
+    @Benchmark
+    public List<LaboratoryDetails> laboratoryPageConverter() {
+        List<LaboratoryDetails> result = new ArrayList<>(laboratories.size());
+        for (LaboratoryEntity laboratory : laboratories) {
+            result.add(laboratoryDetailConverter.convert(laboratory));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<LaboratoryDetails> laboratoryPageRows() {
+        List<LaboratoryDetails> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            result.add(laboratoryDetailConverter.convert(row));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<LaboratoryDetails> laboratoryPageModelMapperPerCall() {
+        List<LaboratoryDetails> result = new ArrayList<>(laboratories.size());
+        for (LaboratoryEntity laboratory : laboratories) {
+            result.add(new ModelMapper().map(laboratory, LaboratoryDetails.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<LaboratoryDetails> laboratoryPageSharedModelMapper() {
+        List<LaboratoryDetails> result = new ArrayList<>(laboratories.size());
+        for (LaboratoryEntity laboratory : laboratories) {
+            result.add(sharedModelMapper.map(laboratory, LaboratoryDetails.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public UserDetails userConverter() {
+        return userDetailsConverter.convert(user);
+    }
+}
@@ -0,0 +1,118 @@
+package de.conti.tires.mandi.benchmark;
+
+import de.conti.tires.mandi.backend.core.base.BaseEntity;
+import de.conti.tires.mandi.backend.core.base.EntityPatchPlan;
+import de.conti.tires.mandi.backend.core.base.ServiceUtils;
+import de.conti.tires.mandi.backend.core.base.UuidIdentifiable;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import de.conti.tires.mandi.backend.util.ComplexFieldsModelMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.metamodel.Attribute;
+import org.apache.commons.beanutils.BeanUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ServiceUtils#performPatch} of typical create payloads, including the resolution of a single reference,
+ * compared to the former {@link PropertyUtils}/{@link BeanUtils} path that introspects the entity per call instead
+ * of using the cached {@link EntityPatchPlan}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatchBenchmark {
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private Map<String, Object> laboratoryPayload;
+    private Map<String, Object> userPayload;
+
+    @Setup
+    public void setUp() {
+        entityManagerFactory = BenchmarkContext.bean(EntityManagerFactory.class);
+        entityManager = BenchmarkContext.bean(EntityManager.class);
+        laboratoryPayload = Map.of(
+                "name", "Patch Lab",
+                "shortName", "PATCH",
+                "resultValue", 4.2,
+                "labDate", "2021-01-01T08:30:00",
+                "labSwitchOn", true,
+                "labUser", BenchmarkContext.admin().getUuid().toString());
+        userPayload = Map.of(
+                "userName", "patch",
+                "firstname", "Patch",
+                "lastname", "User",
+                "email", "patch@localhost",
+                "language", "de-DE");
+    }
+
+    @Benchmark
+    public LaboratoryEntity patchLaboratory() {
+        LaboratoryEntity entity = new LaboratoryEntity();
+        ServiceUtils.performPatch(laboratoryPayload, entity, entityManagerFactory, entityManager);
+        return entity;
+    }
+
+    @Benchmark
+    public UserEntity patchUser() {
+        UserEntity entity = new UserEntity();
+        ServiceUtils.performPatch(userPayload, entity, entityManagerFactory, entityManager);
+        return entity;
+    }
+
+    @Benchmark
+    public LaboratoryEntity patchLaboratoryBeanUtils() throws ReflectiveOperationException {
+        LaboratoryEntity entity = new LaboratoryEntity();
+        beanUtilsPatch(laboratoryPayload, entity);
+        return entity;
+    }
+
+    @Benchmark
+    public UserEntity patchUserBeanUtils() throws ReflectiveOperationException {
+        UserEntity entity = new UserEntity();
+        beanUtilsPatch(userPayload, entity);
+        return entity;
+    }
+
+    /**
+     * Former patch path of {@link ServiceUtils#performPatch} without its error collection: property types are
+     * looked up with {@link PropertyUtils}, single references are found by scanning the metamodel attributes and
+     * set with {@link BeanUtils}.
+     */
+    private void beanUtilsPatch(Map<String, Object> payload, BaseEntity target) throws ReflectiveOperationException {
+        ComplexFieldsModelMapper mapper = new ComplexFieldsModelMapper(target);
+        for (Map.Entry<String, Object> entry : payload.entrySet()) {
+            Class<?> propertyType = PropertyUtils.getPropertyType(target, entry.getKey());
+            if (propertyType == null || UuidIdentifiable.class.isAssignableFrom(propertyType)) {
+                continue;
+            }
+            Object value = "".equals(entry.getValue()) ? null : entry.getValue();
+            PropertyUtils.setProperty(target, entry.getKey(), value == null ? null : mapper.map(value, propertyType));
+        }
+
+        for (Attribute<?, ?> attribute : entityManagerFactory.getMetamodel().entity(target.getClass())
+                .getAttributes()) {
+            if (!BaseEntity.class.isAssignableFrom(attribute.getJavaType()) || attribute.isCollection()
+                    || !payload.containsKey(attribute.getName())) {
+                continue;
+            }
+            String entityName = entityManagerFactory.getMetamodel().entity(attribute.getJavaType()).getName();
+            Object reference = entityManager
+                    .createQuery("select e from " + entityName + " e where e.uuid in (:uuids)")
+                    .setParameter("uuids", Set.of(UUID.fromString((String) payload.get(attribute.getName()))))
+                    .setFlushMode(FlushModeType.COMMIT)
+                    .getSingleResult();
+            BeanUtils.setProperty(target, attribute.getName(), reference);
+        }
+    }
+}
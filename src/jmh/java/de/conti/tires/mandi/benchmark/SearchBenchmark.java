@@ -0,0 +1,86 @@
+package de.conti.tires.mandi.benchmark;
+
+import de.conti.tires.mandi.backend.core.base.TypeaheadIndex;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryRepository;
+import de.conti.tires.mandi.backend.payload.Suggestion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered search on a large laboratory table: the projection page query and its count on the n-grams of the
+ * normalized search text, and the in-memory typeahead index. The {@code concat} benchmarks are the baseline - the
+ * former queries concatenating the upper case properties per row. Inserting the rows takes a while on the first run
+ * of a fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SearchBenchmark {
+    private static final String CONCAT_CONDITION = "WHERE CONCAT("
+            + "CASE WHEN A.name is NULL then '' ELSE UPPER(A.name) END, ' ', "
+            + "CASE WHEN A.shortName is NULL then '' ELSE UPPER(A.shortName) END) LIKE :filter";
+
+    @Param({ "1000000" })
+    public int rows;
+
+    @Param({ "LAB 4711", "B99" })
+    public String filter;
+
+    private LaboratoryRepository laboratoryRepository;
+    private TypeaheadIndex typeaheadIndex;
+    private EntityManager entityManager;
+    private final Pageable page = PageRequest.of(0, 20, Sort.by("name"));
+
+    @Setup
+    public void setUp() {
+        laboratoryRepository = BenchmarkContext.bean(LaboratoryRepository.class);
+        typeaheadIndex = BenchmarkContext.bean(TypeaheadIndex.class);
+        entityManager = BenchmarkContext.bean(EntityManager.class);
+        BenchmarkContext.ensureLaboratories(rows);
+        // builds the index outside of the measurement
+        typeaheadIndex.suggest(LaboratoryEntity.class, filter, 10);
+    }
+
+    @Benchmark
+    public Slice<Tuple> pageQuery() {
+        return laboratoryRepository.findFilteredDetails(filter, page);
+    }
+
+    @Benchmark
+    public long countQuery() {
+        return laboratoryRepository.countFiltered(filter);
+    }
+
+    @Benchmark
+    public List<LaboratoryEntity> concatPageQuery() {
+        return entityManager.createQuery("SELECT A FROM laboratories A " + CONCAT_CONDITION + " ORDER BY A.name",
+                        LaboratoryEntity.class)
+                .setParameter("filter", "%" + filter + "%")
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+
+    @Benchmark
+    public long concatCountQuery() {
+        return entityManager.createQuery("SELECT COUNT(A) FROM laboratories A " + CONCAT_CONDITION, Long.class)
+                .setParameter("filter", "%" + filter + "%")
+                .getSingleResult();
+    }
+
+    @Benchmark
+    public List<Suggestion> typeahead() {
+        return typeaheadIndex.suggest(LaboratoryEntity.class, filter, 10);
+    }
+}
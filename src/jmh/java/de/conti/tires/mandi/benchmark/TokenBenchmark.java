@@ -0,0 +1,79 @@
+package de.conti.tires.mandi.benchmark;
+
+import de.conti.tires.mandi.container.security.jwt.AuthTokenFilter;
+import de.conti.tires.mandi.container.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.Environment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token path: {@link JwtUtils} token generation and verification (first and repeated) and a request through
+ * the {@link AuthTokenFilter} including the principal lookup and the revocation check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBenchmark {
+    private JwtUtils jwtUtils;
+    private AuthTokenFilter authTokenFilter;
+    private String cookieName;
+    private String adminToken;
+    private String[] uncachedTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = BenchmarkContext.bean(JwtUtils.class);
+        authTokenFilter = BenchmarkContext.bean(AuthTokenFilter.class);
+        Environment environment = BenchmarkContext.bean(Environment.class);
+        cookieName = environment.getRequiredProperty("spring.app.jwtCookieName");
+        adminToken = jwtUtils.generateTokenFromUsername("admin");
+
+        // more distinct tokens than the verified token cache holds: each verification misses the cache
+        int cacheSize = environment.getProperty("spring.app.jwtVerifiedCacheSize", Integer.class, 10000);
+        uncachedTokens = new String[cacheSize + 1000];
+        for (int i = 0; i < uncachedTokens.length; i++) {
+            uncachedTokens[i] = jwtUtils.generateTokenFromUsername("x_" + i);
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateTokenFromUsername("admin");
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtUtils.verifyJwtToken(adminToken);
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        next = (next + 1) % uncachedTokens.length;
+        return jwtUtils.verifyJwtToken(uncachedTokens[next]);
+    }
+
+    @Benchmark
+    public Object authTokenFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/labs/search");
+        request.setCookies(new Cookie(cookieName, adminToken));
+        try {
+            authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
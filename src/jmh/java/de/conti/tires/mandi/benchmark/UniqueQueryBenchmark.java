@@ -0,0 +1,126 @@
+package de.conti.tires.mandi.benchmark;
+
+import de.conti.tires.mandi.backend.core.validation.AnnotationBasedValidator;
+import de.conti.tires.mandi.backend.core.validation.AnnotationBasedValidatorFactory;
+import de.conti.tires.mandi.backend.core.validation.ValidationErrors;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.Query;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unique check of {@link AnnotationBasedValidator} with its precompiled projection query compared to an ad hoc
+ * query in the former shape (query string formatted per call, whole entities loaded, properties read reflectively).
+ * <p>
+ * The validated laboratory uses the names of existing laboratories in turn, so each check finds a violation. The
+ * Hibernate query plan cache hits and misses of each iteration are reported as secondary results by
+ * {@link PlanCacheCounters}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UniqueQueryBenchmark {
+    private static final int LABORATORIES = 1000;
+
+    private AnnotationBasedValidator<LaboratoryEntity> validator;
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private LaboratoryEntity laboratory;
+    private Map<String, Object> payload;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkContext.ensureLaboratories(LABORATORIES);
+        validator = BenchmarkContext.bean(AnnotationBasedValidatorFactory.class).create(LaboratoryEntity.class);
+        entityManager = BenchmarkContext.bean(EntityManager.class);
+
+        laboratory = new LaboratoryEntity();
+        laboratory.setShortName("UQ");
+        payload = Map.of("name", "", "shortName", "UQ");
+
+        statistics = BenchmarkContext.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextName() {
+        laboratory.setName("Benchmark Lab " + next);
+        next = (next + 1) % LABORATORIES;
+    }
+
+    /**
+     * Query plan cache hits and misses of an iteration, summed up by JMH like events.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PlanCacheCounters {
+        public long planCacheHits;
+        public long planCacheMisses;
+
+        private Statistics statistics;
+        private long hitsBefore;
+        private long missesBefore;
+
+        @Setup(Level.Iteration)
+        public void start() {
+            statistics = BenchmarkContext.bean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+                    .getStatistics();
+            hitsBefore = statistics.getQueryPlanCacheHitCount();
+            missesBefore = statistics.getQueryPlanCacheMissCount();
+            planCacheHits = 0;
+            planCacheMisses = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() {
+            planCacheHits = statistics.getQueryPlanCacheHitCount() - hitsBefore;
+            planCacheMisses = statistics.getQueryPlanCacheMissCount() - missesBefore;
+        }
+    }
+
+    @Benchmark
+    public ValidationErrors precompiled(PlanCacheCounters counters) {
+        ValidationErrors errors = new ValidationErrors();
+        validator.validate(laboratory, null, payload, errors);
+        return errors;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public ValidationErrors adHoc(PlanCacheCounters counters) throws ReflectiveOperationException {
+        ValidationErrors errors = new ValidationErrors();
+        Query query = entityManager.createQuery(String.format("select x from %s x where %s", "laboratories",
+                String.format("x.%s = :%s", "name", "name")));
+        query.setFlushMode(FlushModeType.COMMIT);
+        query.setParameter("name", PropertyUtils.getProperty(laboratory, "name"));
+        for (LaboratoryEntity violating : (List<LaboratoryEntity>) query.getResultList()) {
+            if (!Objects.equals(PropertyUtils.getProperty(laboratory, "uuid"),
+                    PropertyUtils.getProperty(violating, "uuid"))
+                    && Objects.equals(PropertyUtils.getProperty(laboratory, "name"),
+                    PropertyUtils.getProperty(violating, "name"))) {
+                errors.addUniqueError("name");
+            }
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,59 @@
+package de.conti.tires.mandi.benchmark;
+
+import de.conti.tires.mandi.backend.core.exception.ApiException;
+import de.conti.tires.mandi.backend.core.exception.ApiMessageDto;
+import de.conti.tires.mandi.backend.core.exception.GenericException;
+import de.conti.tires.mandi.backend.core.exception.ValidationException;
+import de.conti.tires.mandi.backend.core.validation.ValidationErrors;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Failure path of a request as handled by the REST controller advisor: creating the exception and the translated
+ * {@link ApiMessageDto} - with lightweight exceptions and with captured stack traces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationFailureBenchmark {
+    @Param({ "false", "true" })
+    public boolean stackTraces;
+
+    @Setup
+    public void setUp() {
+        BenchmarkContext.get();
+        ApiException.setStackTraceEnabled(stackTraces);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ApiException.setStackTraceEnabled(false);
+    }
+
+    @Benchmark
+    public ApiMessageDto validationFailure() {
+        try {
+            ValidationErrors errors = new ValidationErrors();
+            errors.addFieldError("name", ValidationErrors.UNIQUE_ERROR);
+            errors.addFieldError("shortName", "error.validation.maxLength", 10);
+            errors.addGlobalError("error.validation.invalidValue");
+            throw new ValidationException(errors);
+        } catch (ValidationException e) {
+            return new ApiMessageDto(e.getErrors());
+        }
+    }
+
+    @Benchmark
+    public ApiMessageDto genericFailure() {
+        try {
+            throw new GenericException(HttpStatus.CONFLICT, "error.BulkValidationException", 3);
+        } catch (GenericException e) {
+            return new ApiMessageDto(e, stackTraces);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package de.conti.tires.mandi.benchmark;
+
+import de.conti.tires.mandi.backend.core.validation.AnnotationBasedValidator;
+import de.conti.tires.mandi.backend.core.validation.AnnotationBasedValidatorFactory;
+import de.conti.tires.mandi.backend.core.validation.ValidationErrors;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AnnotationBasedValidator#validate} of a new laboratory and a new user, including the unique queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+    private AnnotationBasedValidator<LaboratoryEntity> laboratoryValidator;
+    private AnnotationBasedValidator<UserEntity> userValidator;
+    private LaboratoryEntity laboratory;
+    private UserEntity user;
+    private Map<String, Object> laboratoryPayload;
+    private Map<String, Object> userPayload;
+
+    @Setup
+    public void setUp() {
+        AnnotationBasedValidatorFactory factory = BenchmarkContext.bean(AnnotationBasedValidatorFactory.class);
+        laboratoryValidator = factory.create(LaboratoryEntity.class);
+        userValidator = factory.create(UserEntity.class);
+
+        laboratory = new LaboratoryEntity();
+        laboratory.setName("Validated Lab");
+        laboratory.setShortName("VAL");
+        laboratoryPayload = Map.of("name", "Validated Lab", "shortName", "VAL");
+
+        user = new UserEntity("validated", "secret", "Valid", "User", "validated@localhost");
+        userPayload = Map.of("userName", "validated", "firstname", "Valid", "lastname", "User",
+                "email", "validated@localhost");
+    }
+
+    @Benchmark
+    public ValidationErrors validateLaboratory() {
+        ValidationErrors errors = new ValidationErrors();
+        laboratoryValidator.validate(laboratory, null, laboratoryPayload, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public ValidationErrors validateUser() {
+        ValidationErrors errors = new ValidationErrors();
+        userValidator.validate(user, null, userPayload, errors);
+        return errors;
+    }
+}
@@ -0,0 +1,235 @@
+package de.conti.tires.mandi.loadtest;
+
+import de.conti.tires.mandi.MandiApplication;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.user.AppRole;
+import de.conti.tires.mandi.backend.user.RoleEntity;
+import de.conti.tires.mandi.backend.user.RoleRepository;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process HTTP load test.
+ * <p>
+ * Boots the application on a random local port with the in-memory database, inserts synthetic users and laboratories
+ * and drives a weighted mix of requests ({@link Operation}) from one virtual thread per virtual user over the loopback
+ * interface. Each virtual user signs in with its own synthetic account first - so refresh token rotation of one
+ * session never invalidates another - and sends its next request as soon as the previous one is answered (closed
+ * model). A 401 is followed by a new signin, recorded as {@link Operation#RESIGNIN}. Throughput and latency percentiles per endpoint of the measurement interval are printed and
+ * written as JSON - see {@link LoadTestOptions} for the arguments.
+ * <p>
+ * Run with {@code ./mvnw -P loadtest verify [-Dloadtest.args="users=32 duration=60 mix=getLab:1"]}.
+ */
+public final class LoadTest {
+    private static final String LAB_PREFIX = "Load Lab ";
+    private static final int INSERT_CHUNK = 1000;
+
+    private final LoadTestOptions options;
+    private final URI baseUri;
+    private final List<UUID> labs;
+    private final List<String> usernames;
+    private final Operation[] weightedOperations;
+
+    private volatile boolean running = true;
+
+    private LoadTest(LoadTestOptions options, URI baseUri, List<UUID> labs, List<String> usernames) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.labs = labs;
+        this.usernames = usernames;
+        this.weightedOperations = options.getMix().entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadTestReport report;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MandiApplication.class)
+                .properties("server.port=0", "logging.level.root=warn")
+                .run(options.getApplicationArgs().toArray(String[]::new))) {
+            Environment environment = context.getEnvironment();
+            URI baseUri = URI.create("http://localhost:" + environment.getRequiredProperty("local.server.port")
+                    + environment.getProperty("BASE_URL", "") + "/");
+
+            long start = System.currentTimeMillis();
+            List<String> usernames = ensureUsers(context, options);
+            List<UUID> labs = ensureLaboratories(context, options.getLabs());
+            System.out.printf("%d users and %d laboratories ready in %d ms, %s%n", usernames.size(), labs.size(),
+                    System.currentTimeMillis() - start, baseUri);
+            if (labs.isEmpty() && (options.getMix().containsKey(Operation.GET_LAB)
+                    || options.getMix().containsKey(Operation.PATCH_LAB))) {
+                throw new IllegalArgumentException("getLab and patchLab need labs > 0");
+            }
+
+            report = new LoadTest(options, baseUri, labs, usernames).run();
+        }
+
+        System.out.print(report.toTable());
+        report.write(options, options.getOutput());
+        System.out.println("report written to " + options.getOutput().toAbsolutePath());
+    }
+
+    private LoadTestReport run() throws InterruptedException {
+        LoadTestReport report = new LoadTestReport();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        System.out.printf("%d users, warm up %d s, measurement %d s, mix %s%n", options.getUsers(),
+                options.getWarmup().toSeconds(), options.getDuration().toSeconds(), options.getMix());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String username : usernames) {
+                Session session = new Session(client, baseUri, labs, username, options.getPassword());
+                executor.execute(() -> runUser(session, report));
+            }
+            Thread.sleep(options.getWarmup());
+            report.start();
+            Thread.sleep(options.getDuration());
+            report.stop();
+            running = false;
+        }
+        return report;
+    }
+
+    private void runUser(Session session, LoadTestReport report) {
+        try {
+            signin(session);
+            while (running) {
+                Operation operation = weightedOperations[ThreadLocalRandom.current()
+                        .nextInt(weightedOperations.length)];
+                int status;
+                long start = System.nanoTime();
+                try {
+                    status = session.execute(operation);
+                } catch (IOException e) {
+                    status = -1;
+                }
+                report.record(operation, status, System.nanoTime() - start);
+
+                // access token expired or revoked: sign in again
+                if (status == 401) {
+                    start = System.nanoTime();
+                    report.record(Operation.RESIGNIN, signin(session), System.nanoTime() - start);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return HTTP status of the signin, which must be 200
+     */
+    private static int signin(Session session) throws InterruptedException {
+        try {
+            int status = session.signin();
+            if (status != 200) {
+                throw new IllegalStateException("signin of " + session.getUsername() + " failed with " + status);
+            }
+            return status;
+        } catch (IOException e) {
+            throw new IllegalStateException("signin of " + session.getUsername() + " failed", e);
+        }
+    }
+
+    /**
+     * Inserts the missing synthetic users {@code <userPrefix><n>}, one per virtual user, with the configured password.
+     *
+     * @return user names of all virtual users
+     */
+    private static List<String> ensureUsers(ConfigurableApplicationContext context, LoadTestOptions options) {
+        List<String> usernames = new ArrayList<>(options.getUsers());
+        for (int n = 0; n < options.getUsers(); n++) {
+            usernames.add(options.getUserPrefix() + n);
+        }
+
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Set<String> existing = new HashSet<>(transaction.execute(status -> entityManager
+                .createQuery("SELECT u.userName FROM UserEntity u WHERE u.userName IN (:names)", String.class)
+                .setParameter("names", usernames)
+                .getResultList()));
+        if (existing.size() == usernames.size()) {
+            return usernames;
+        }
+
+        // one hash for all users - each signin still verifies it
+        String hash = context.getBean(PasswordEncoder.class).encode(options.getPassword());
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        transaction.executeWithoutResult(status -> {
+            RoleEntity role = roleRepository.findByRoleName(AppRole.USER).orElseThrow();
+            for (String username : usernames) {
+                if (!existing.contains(username)) {
+                    UserEntity user = new UserEntity(username, hash, "Load", username, username + "@localhost");
+                    user.setRoles(new HashSet<>(Set.of(role)));
+                    entityManager.persist(user);
+                }
+            }
+        });
+        return usernames;
+    }
+
+    /**
+     * Inserts synthetic laboratories until the given number exists. Laboratories are named {@code "Load Lab <n>"}
+     * and reference the admin as lab user.
+     *
+     * @return UUIDs of all synthetic laboratories
+     */
+    private static List<UUID> ensureLaboratories(ConfigurableApplicationContext context, int count) {
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        long existing = transaction.execute(status -> entityManager
+                .createQuery("SELECT COUNT(l) FROM laboratories l WHERE l.name LIKE :prefix", Long.class)
+                .setParameter("prefix", LAB_PREFIX + "%")
+                .getSingleResult());
+
+        UUID adminUuid = context.getBean(UserRepository.class).findByUserName("admin").orElseThrow().getUuid();
+        for (long start = existing; start < count; start += INSERT_CHUNK) {
+            long from = start;
+            transaction.executeWithoutResult(status -> {
+                UserEntity admin = entityManager.getReference(UserEntity.class, adminUuid);
+                for (long n = from; n < Math.min(count, from + INSERT_CHUNK); n++) {
+                    LaboratoryEntity lab = new LaboratoryEntity();
+                    lab.setName(LAB_PREFIX + n);
+                    lab.setShortName("L" + n);
+                    lab.setResultValue(n);
+                    lab.setLabDate(LocalDateTime.of(2021, 1, 1, 0, 0).plusMinutes(n));
+                    lab.setLabSwitchOn(n % 2 == 0);
+                    lab.setLabUser(admin);
+                    entityManager.persist(lab);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        return transaction.execute(status -> entityManager
+                .createQuery("SELECT l.uuid FROM laboratories l WHERE l.name LIKE :prefix", UUID.class)
+                .setParameter("prefix", LAB_PREFIX + "%")
+                .getResultList());
+    }
+}
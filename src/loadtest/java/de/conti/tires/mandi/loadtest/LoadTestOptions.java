@@ -0,0 +1,100 @@
+package de.conti.tires.mandi.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a load test run, parsed from {@code key=value} arguments. Arguments starting with {@code --} are passed
+ * to the application unchanged (e.g. {@code --spring.threads.virtual.enabled=true}).
+ * <ul>
+ * <li>{@code users} - concurrent virtual users (default 64)</li>
+ * <li>{@code warmup} / {@code duration} - warm up and measurement time in seconds (default 10 / 30)</li>
+ * <li>{@code labs} - synthetic laboratories inserted before the run (default 10000)</li>
+ * <li>{@code mix} - relative weights per operation, e.g. {@code getLab:50,searchLabs:20,patchLab:10}</li>
+ * <li>{@code userPrefix} / {@code password} - virtual user n signs in as synthetic user {@code <userPrefix><n>}, the
+ * users are inserted before the run (default load_ / load)</li>
+ * <li>{@code output} - JSON report (default target/loadtest-result.json)</li>
+ * </ul>
+ */
+@Getter
+public class LoadTestOptions {
+    private static final String DEFAULT_MIX =
+            "signin:1,refresh:2,searchLabs:20,searchUsers:5,getLab:50,postLab:5,patchLab:17";
+
+    private int users = 64;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(30);
+    private int labs = 10000;
+    private Map<Operation, Integer> mix = parseMix(DEFAULT_MIX);
+    private String userPrefix = "load_";
+    private String password = "load";
+    private Path output = Path.of("target", "loadtest-result.json");
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    /**
+     * @param args command line arguments
+     * @return parsed options
+     * @throws IllegalArgumentException unknown option or invalid value
+     */
+    public static LoadTestOptions parse(String... args) throws IllegalArgumentException {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (arg.startsWith("--")) {
+                options.applicationArgs.add(arg);
+                continue;
+            }
+
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("option " + arg + " is no key=value pair");
+            }
+            String value = arg.substring(separator + 1).trim();
+            switch (arg.substring(0, separator).trim()) {
+                case "users" -> options.users = Integer.parseInt(value);
+                case "warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "labs" -> options.labs = Integer.parseInt(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "userPrefix" -> options.userPrefix = value;
+                case "password" -> options.password = value;
+                case "output" -> options.output = Path.of(value);
+                default -> throw new IllegalArgumentException("unknown option " + arg);
+            }
+        }
+        if (options.users <= 0 || options.duration.isZero() || options.duration.isNegative()) {
+            throw new IllegalArgumentException("users and duration must be positive");
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> result = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("negative weight in mix entry " + entry);
+            }
+            Operation operation = Operation.of(parts[0].trim());
+            if (operation == Operation.RESIGNIN) {
+                throw new IllegalArgumentException(operation.getKey() + " is recorded on 401, not part of the mix");
+            }
+            if (weight > 0) {
+                result.put(operation, weight);
+            }
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("mix " + value + " contains no operation");
+        }
+        return result;
+    }
+}
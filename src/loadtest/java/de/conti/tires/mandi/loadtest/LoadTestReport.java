@@ -0,0 +1,160 @@
+package de.conti.tires.mandi.loadtest;
+
+import de.conti.tires.mandi.backend.core.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Latencies, errors and status codes per operation of the measurement interval. Samples are only recorded between
+ * {@link #start()} and {@link #stop()}, so requests of the warm up are ignored.
+ */
+public class LoadTestReport {
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+
+    private volatile boolean recording;
+    private long startNanos;
+    private long stopNanos;
+
+    public LoadTestReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+            errors.put(operation, new LongAdder());
+            statuses.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Starts the measurement interval.
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    /**
+     * Ends the measurement interval.
+     */
+    public void stop() {
+        recording = false;
+        stopNanos = System.nanoTime();
+    }
+
+    /**
+     * Records a completed request. Requests with a status other than 2xx are counted as errors, their latency is not
+     * recorded.
+     *
+     * @param operation    operation
+     * @param status       HTTP status, negative if the request failed without response
+     * @param elapsedNanos latency in nanoseconds
+     */
+    public void record(Operation operation, int status, long elapsedNanos) {
+        if (!recording) {
+            return;
+        }
+        statuses.get(operation).computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status >= 200 && status < 300) {
+            latencies.get(operation).record(elapsedNanos / 1000);
+        } else {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * @return measurement interval in seconds
+     */
+    public double getElapsedSeconds() {
+        return (stopNanos - startNanos) / 1e9;
+    }
+
+    /**
+     * @return table of all executed operations
+     */
+    public String toTable() {
+        StringBuilder result = new StringBuilder(String.format(Locale.ROOT,
+                "%-28s %10s %8s %10s %10s %10s %10s %10s%n", "endpoint", "ops/s", "errors", "mean ms", "p50 ms",
+                "p99 ms", "p999 ms", "max ms"));
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = latencies.get(operation);
+            long count = histogram.getCount() + errors.get(operation).sum();
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            result.append(String.format(Locale.ROOT, "%-28s %10.1f %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.getEndpoint(), count / getElapsedSeconds(), errors.get(operation).sum(),
+                    millis(mean(histogram)), millis(histogram.getPercentile(50)),
+                    millis(histogram.getPercentile(99)), millis(histogram.getPercentile(99.9)),
+                    millis(histogram.getMax())));
+        }
+        result.append(String.format(Locale.ROOT, "%-28s %10.1f%n", "total", total / getElapsedSeconds()));
+        return result.toString();
+    }
+
+    /**
+     * Writes the report as JSON (latencies in microseconds).
+     *
+     * @param options options of the run
+     * @param file    target file, parent directories are created
+     * @throws IOException file could not be written
+     */
+    public void write(LoadTestOptions options, Path file) throws IOException {
+        String endpoints = latencies.keySet().stream()
+                .filter(operation -> latencies.get(operation).getCount() + errors.get(operation).sum() > 0)
+                .map(this::toJson)
+                .collect(Collectors.joining(",\n    "));
+        String json = String.format(Locale.ROOT, """
+                {
+                  "users": %d,
+                  "warmupSeconds": %d,
+                  "durationSeconds": %d,
+                  "elapsedSeconds": %.3f,
+                  "mix": {%s},
+                  "endpoints": [
+                    %s
+                  ]
+                }
+                """, options.getUsers(), options.getWarmup().toSeconds(), options.getDuration().toSeconds(),
+                getElapsedSeconds(), options.getMix().entrySet().stream()
+                        .map(entry -> "\"" + entry.getKey().getKey() + "\": " + entry.getValue())
+                        .collect(Collectors.joining(", ")),
+                endpoints);
+
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        Files.writeString(file, json);
+    }
+
+    private String toJson(Operation operation) {
+        LatencyHistogram histogram = latencies.get(operation);
+        long errorCount = errors.get(operation).sum();
+        return String.format(Locale.ROOT, "{\"endpoint\": \"%s\", \"operation\": \"%s\", \"count\": %d, "
+                        + "\"errors\": %d, \"throughput\": %.2f, \"meanMicros\": %.1f, \"p50Micros\": %d, "
+                        + "\"p99Micros\": %d, \"p999Micros\": %d, \"maxMicros\": %d, \"statuses\": {%s}}",
+                operation.getEndpoint(), operation.getKey(), histogram.getCount(), errorCount,
+                (histogram.getCount() + errorCount) / getElapsedSeconds(), mean(histogram),
+                histogram.getPercentile(50), histogram.getPercentile(99), histogram.getPercentile(99.9),
+                histogram.getMax(), statuses.get(operation).entrySet().stream()
+                        .map(entry -> "\"" + entry.getKey() + "\": " + entry.getValue().sum())
+                        .collect(Collectors.joining(", ")));
+    }
+
+    private static double mean(LatencyHistogram histogram) {
+        return histogram.getCount() == 0 ? 0 : (double) histogram.getTotal() / histogram.getCount();
+    }
+
+    private static double millis(double micros) {
+        return micros / 1000;
+    }
+}
@@ -0,0 +1,46 @@
+package de.conti.tires.mandi.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Request types of the load test mix. Each operation is reported as its own endpoint.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Operation {
+    SIGNIN("signin", "POST /api/auth/signin"),
+    REFRESH("refresh", "POST /api/auth/refreshtoken"),
+    SEARCH_LABS("searchLabs", "GET /api/labs/search"),
+    SEARCH_USERS("searchUsers", "GET /api/users/search"),
+    GET_LAB("getLab", "GET /api/labs/{uuid}"),
+    POST_LAB("postLab", "POST /api/labs"),
+    PATCH_LAB("patchLab", "PATCH /api/labs/{uuid}"),
+    /**
+     * Signin after a 401 of another operation - not part of the mix.
+     */
+    RESIGNIN("resignin", "POST /api/auth/signin (401)");
+
+    /**
+     * Name used in the {@code mix} option.
+     */
+    private final String key;
+    /**
+     * Endpoint label of the report.
+     */
+    private final String endpoint;
+
+    /**
+     * @param key name used in the {@code mix} option
+     * @return operation
+     * @throws IllegalArgumentException unknown name
+     */
+    public static Operation of(String key) throws IllegalArgumentException {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("unknown operation " + key);
+    }
+}
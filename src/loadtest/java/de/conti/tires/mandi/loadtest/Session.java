@@ -0,0 +1,130 @@
+package de.conti.tires.mandi.loadtest;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP session of a single virtual user: signs in with the user's own account, keeps the cookies (access and refresh
+ * token) set by the application and sends the requests of the load test mix. Not thread safe - each virtual user owns
+ * its session.
+ */
+public class Session {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final AtomicLong POSTED = new AtomicLong();
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final List<UUID> labs;
+    @Getter
+    private final String username;
+    private final String password;
+    private final Map<String, String> cookies = new HashMap<>();
+
+    /**
+     * @param client   shared HTTP client
+     * @param baseUri  application base URI including the base path, ending with a slash
+     * @param labs     laboratories to get and patch
+     * @param username user name of this session's account
+     * @param password password of this session's account
+     */
+    public Session(HttpClient client, URI baseUri, List<UUID> labs, String username, String password) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.labs = labs;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Signs in and keeps the returned cookies for all following requests.
+     *
+     * @return HTTP status
+     * @throws IOException          request failed
+     * @throws InterruptedException interrupted while waiting for the response
+     */
+    public int signin() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(baseUri.resolve("api/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}")));
+    }
+
+    /**
+     * Sends a single request of the given operation.
+     *
+     * @param operation operation
+     * @return HTTP status
+     * @throws IOException          request failed
+     * @throws InterruptedException interrupted while waiting for the response
+     */
+    public int execute(Operation operation) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case SIGNIN, RESIGNIN -> signin();
+            case REFRESH -> send(HttpRequest.newBuilder(baseUri.resolve("api/auth/refreshtoken"))
+                    .POST(HttpRequest.BodyPublishers.noBody()));
+            case SEARCH_LABS -> send(HttpRequest.newBuilder(
+                    baseUri.resolve("api/labs/search?filter=lab%20" + random.nextInt(100) + "&page=0&size=20"))
+                    .GET());
+            case SEARCH_USERS -> send(HttpRequest.newBuilder(
+                    baseUri.resolve("api/users/search?filter=x_" + random.nextInt(10) + "&page=0&size=20"))
+                    .GET());
+            case GET_LAB -> send(HttpRequest.newBuilder(baseUri.resolve("api/labs/" + randomLab(random))).GET());
+            case POST_LAB -> {
+                long n = POSTED.incrementAndGet();
+                yield send(HttpRequest.newBuilder(baseUri.resolve("api/labs"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load Post " + RUN_ID + "-" + n
+                                + "\",\"shortName\":\"P" + Long.toString(n, 36) + "\",\"resultValue\":" + n
+                                + ",\"labSwitchOn\":true}")));
+            }
+            case PATCH_LAB -> send(HttpRequest.newBuilder(baseUri.resolve("api/labs/" + randomLab(random)))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                            "{\"resultValue\":" + random.nextInt(1000) + "}")));
+        };
+    }
+
+    private UUID randomLab(ThreadLocalRandom random) {
+        return labs.get(random.nextInt(labs.size()));
+    }
+
+    private int send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        if (!cookies.isEmpty()) {
+            builder.header("Cookie", cookies.entrySet().stream()
+                    .map(cookie -> cookie.getKey() + "=" + cookie.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+        HttpResponse<Void> response = client.send(builder.timeout(REQUEST_TIMEOUT).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            int end = header.indexOf(';');
+            String pair = end < 0 ? header : header.substring(0, end);
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                String value = pair.substring(separator + 1).trim();
+                if (value.isEmpty()) {
+                    cookies.remove(pair.substring(0, separator).trim());
+                } else {
+                    cookies.put(pair.substring(0, separator).trim(), value);
+                }
+            }
+        }
+        return response.statusCode();
+    }
+}
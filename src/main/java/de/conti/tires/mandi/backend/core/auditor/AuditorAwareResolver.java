@@ -3,34 +3,45 @@ package de.conti.tires.mandi.backend.core.auditor;
 import de.conti.tires.mandi.backend.user.UserEntity;
 import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
 import lombok.extern.log4j.Log4j2;
-import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 
 
 /**
  * Auditor to resolves {@link UserEntity}.
+ * <p>
+ * The auditor is only referenced by the audit columns, so it is resolved as reference proxy without loading the user
+ * (and its eager roles and laboratories) and memoized for the current transaction. A reference is not checked by
+ * itself, so the existence of the user is queried once per transaction: a principal of a removed user (e.g. still
+ * cached by the {@link de.conti.tires.mandi.container.security.services.PrincipalCache}) has no auditor instead of
+ * failing at flush with a foreign key violation.
  */
 @Log4j2
 @Component
 @SuppressWarnings("unused")
 public class AuditorAwareResolver implements AuditorAware<UserEntity> {
-    //    @Autowired
-//    private UserRepository userRepository;
+    /**
+     * Transaction resource key of the memoized auditor.
+     */
+    private static final String AUDITOR_RESOURCE = AuditorAwareResolver.class.getName() + ".auditor";
+
     @Autowired
     private EntityManager entityManager;
 
     /**
      * Returns the current auditor as {@link Optional} of {@link UserEntity}.
      *
-     * @return {@link Optional} of {@link UserEntity}
+     * @return {@link Optional} of {@link UserEntity} - an uninitialized reference, empty if the user does not exist
      */
     @NonNull
     @Override
@@ -43,23 +54,49 @@ public class AuditorAwareResolver implements AuditorAware<UserEntity> {
                 user = (UserDetailsImpl) principal;
             }
         }
-        if (user == null) {
+        if (user == null || user.getUuid() == null) {
             log.debug("Current auditor unavailable!");
             return Optional.empty();
         }
 
-        //if (user instanceof GomesDetailedUser) {
-        //GomesDetailedUser gomesUser = (GomesDetailedUser) user;
-        log.trace("Resolving current auditor for login {} with UUID {}", user.getUsername(), user.getUuid());
-        Session session = entityManager.unwrap(Session.class);
-        //UserEntity entity = session.load(UserEntity.class, user.getUuid());
-        //return Optional.of(entity);
-        UserEntity entity = entityManager.find(UserEntity.class, user.getUuid());
-        return Optional.ofNullable(entity);
-        //}
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return Optional.ofNullable(resolve(user));
+        }
 
-        //log.trace("Resolving current auditor: {}", user.getUsername());
+        UserEntity auditor = (UserEntity) TransactionSynchronizationManager.getResource(AUDITOR_RESOURCE);
+        if (auditor != null && user.getUuid().equals(auditor.getUuid())) {
+            return Optional.of(auditor);
+        }
 
-        //return userRepository.findOneByAdLoginIgnoreCase(user.getUsername());
+        auditor = resolve(user);
+        if (auditor == null) {
+            return Optional.empty();
+        }
+        if (TransactionSynchronizationManager.unbindResourceIfPossible(AUDITOR_RESOURCE) == null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AUDITOR_RESOURCE);
+                }
+            });
+        }
+        TransactionSynchronizationManager.bindResource(AUDITOR_RESOURCE, auditor);
+        return Optional.of(auditor);
+    }
+
+    private UserEntity resolve(UserDetailsImpl user) {
+        log.trace("Resolving current auditor for login {} with UUID {}", user.getUsername(), user.getUuid());
+        boolean exists = !entityManager.createQuery("SELECT 1 FROM UserEntity U WHERE U.uuid = :uuid")
+                .setParameter("uuid", user.getUuid())
+                // the auditing listener resolves the auditor during the flush
+                .setFlushMode(FlushModeType.COMMIT)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+        if (!exists) {
+            log.warn("Current auditor {} with UUID {} does not exist", user.getUsername(), user.getUuid());
+            return null;
+        }
+        return entityManager.getReference(UserEntity.class, user.getUuid());
     }
 }
@@ -1,13 +1,24 @@
 package de.conti.tires.mandi.backend.core.base;
 
+import de.conti.tires.mandi.backend.core.config.MandiConfig;
 import de.conti.tires.mandi.backend.core.exception.ApiException;
+import de.conti.tires.mandi.backend.core.exception.BadRequestException;
+import de.conti.tires.mandi.backend.core.exception.BulkValidationException;
 import de.conti.tires.mandi.backend.core.exception.InvalidReferenceException;
 import de.conti.tires.mandi.backend.core.exception.ValidationException;
+import de.conti.tires.mandi.backend.core.metrics.PhaseTimers;
+import de.conti.tires.mandi.backend.core.metrics.PhaseTimers.Phase;
+import de.conti.tires.mandi.backend.core.metrics.PhaseTimers.Timing;
+import de.conti.tires.mandi.backend.core.validation.ValidationErrors;
+import de.conti.tires.mandi.backend.core.validation.ValidationItem;
 import de.conti.tires.mandi.backend.core.validation.Validator;
 import de.conti.tires.mandi.backend.payload.EmbeddedContent;
 import de.conti.tires.mandi.backend.payload.PageInfo;
 import de.conti.tires.mandi.backend.payload.PagedResponse;
+import de.conti.tires.mandi.backend.payload.Suggestion;
+import de.conti.tires.mandi.backend.user.projection.UserSummary;
 import de.conti.tires.mandi.backend.util.CloneUtils;
+import de.conti.tires.mandi.container.config.AppConstants;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
@@ -15,25 +26,38 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.converter.Converter;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.AccessDeniedException;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 public abstract class AbstractBaseController<E extends BaseEntity, P, R extends BaseEntityRepository<E>> {
 
+    /**
+     * Reference levels preloaded for list pages (references and their audit users).
+     */
+    private static final int PRELOAD_DEPTH = 2;
+
     @Autowired
     protected EntityManagerFactory entityManagerFactory;
     @Autowired
     protected EntityManager entityManager;
+    @Autowired
+    protected MandiConfig mandiConfig;
+    @Autowired
+    protected KeysetCursorCodec keysetCursorCodec;
+    @Autowired
+    protected SearchCountCache searchCountCache;
+    @Autowired
+    protected TypeaheadIndex typeaheadIndex;
+    @Autowired
+    protected PhaseTimers phaseTimers;
 
     /**
      * Creates a new single entity. Usually not all fields will be filled.
@@ -72,7 +96,52 @@ public abstract class AbstractBaseController<E extends BaseEntity, P, R extends
     public P patchItem(@PathVariable("uuid") UUID uuid, @RequestBody Map<String, Object> payload)
             throws ResourceNotFoundException, InvalidReferenceException, ValidationException, AccessDeniedException
     {
-        return performUpdateFromMap(payload, loadEntity(uuid).orElseThrow(ResourceNotFoundException::new), false);
+        E entity;
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.LOAD))
+        {
+            entity = loadEntity(uuid).orElseThrow(ResourceNotFoundException::new);
+        }
+        return performUpdateFromMap(payload, entity, false);
+    }
+
+    /**
+     * Creates multiple entities within one transaction. Writes are flushed in chunks of
+     * {@link MandiConfig#getBulkFlushSize()} entities to make use of JDBC batching.
+     * <p>
+     * If any item is invalid nothing is stored and the errors are reported per request index.
+     *
+     * @param payloads input data per entity (property to value)
+     * @return resulting entities as dtos in request order
+     * @throws BulkValidationException at least one item is invalid or references an invalid UUID
+     * @throws AccessDeniedException   user is not allowed to perform requested operation
+     */
+    @PostMapping("/bulk")
+    @Transactional
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<P> postItems(@RequestBody List<Map<String, Object>> payloads) throws BulkValidationException,
+            AccessDeniedException
+    {
+        return performBulkUpdateFromMaps(payloads, true);
+    }
+
+    /**
+     * Performs (partial) updates of multiple entities within one transaction. Each payload must contain the
+     * {@code uuid} of the entity to update. Writes are flushed in chunks of {@link MandiConfig#getBulkFlushSize()}
+     * entities to make use of JDBC batching.
+     * <p>
+     * If any item is invalid nothing is stored and the errors are reported per request index.
+     *
+     * @param payloads update information per entity (property to value, including the uuid)
+     * @return dtos of the updated entities in request order
+     * @throws BulkValidationException at least one item is invalid, unknown or references an invalid UUID
+     * @throws AccessDeniedException   user is not allowed to perform requested operation
+     */
+    @PatchMapping("/bulk")
+    @Transactional
+    public List<P> patchItems(@RequestBody List<Map<String, Object>> payloads) throws BulkValidationException,
+            AccessDeniedException
+    {
+        return performBulkUpdateFromMaps(payloads, false);
     }
 
     /**
@@ -87,28 +156,174 @@ public abstract class AbstractBaseController<E extends BaseEntity, P, R extends
     @Transactional
     public P getItem(@PathVariable("uuid") UUID uuid) throws ResourceNotFoundException, AccessDeniedException
     {
-        E entity = loadEntity(uuid).orElseThrow(ResourceNotFoundException::new);
+        E entity;
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.LOAD))
+        {
+            entity = loadEntity(uuid).orElseThrow(ResourceNotFoundException::new);
+        }
 
         //authorization.getReadRestriction().testAuth(entity, authenticationService.currentUser());
 
-        return getConverter().convert(entity);
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.CONVERT))
+        {
+            return getConverter().convert(entity);
+        }
     }
 
+    /**
+     * Searches entities matching the given filter.
+     * <p>
+     * If a {@code cursor} parameter is sent (an empty one for the first page), keyset pagination is used: the page
+     * number of {@code pageable} is ignored, no totals are calculated and {@link PageInfo#getNextCursor()} contains
+     * the token to request the following page with. Otherwise a classic offset page is returned.
+     * <p>
+     * Offset pages never run a count query if {@code count=false} is sent: only {@link PageInfo#isLastPage()} is
+     * set then. Otherwise the total is taken from the {@link SearchCountCache} and only counted if it is not known
+     * already and can not be derived from the page content.
+     *
+     * @param filter   filter text
+     * @param cursor   optional continuation token to switch to keyset pagination
+     * @param count    calculate the total number of elements and pages
+     * @param pageable page request (page number, size and sort)
+     * @return page of projections
+     */
     @GetMapping("/search")
     @Transactional
-    public PagedResponse<P> getPage(@RequestParam("filter") String filter, Pageable pageable)
+    public PagedResponse<P> getPage(@RequestParam("filter") String filter,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "true") boolean count, Pageable pageable)
     {
-        Page<E> page = (Page<E>) getRepository().findFiltered(filter.toUpperCase(), pageable);
+        if (cursor != null)
+        {
+            return getKeysetPage(filter, cursor, pageable);
+        }
+
+        String normalizedFilter = SearchText.normalize(filter);
+        Slice<P> slice;
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.QUERY))
+        {
+            slice = findFilteredProjections(normalizedFilter, pageable);
+        }
         PagedResponse<P> response = new PagedResponse<>();
         PageInfo pageInfo = new PageInfo();
-        pageInfo.setPage(page.getPageable().getPageNumber());
-        pageInfo.setSize(page.getPageable().getPageSize());
-        pageInfo.setTotalElements(page.getTotalElements());
-        pageInfo.setTotalPages(page.getTotalPages());
-        pageInfo.setLastPage(page.getPageable().getPageNumber() == page.getTotalPages() - 1);
+        pageInfo.setPage(slice.getNumber());
+        pageInfo.setSize(slice.getSize());
+        pageInfo.setLastPage(!slice.hasNext());
+        if (count)
+        {
+            // counts only if the total can not be derived from the slice (e.g. it is the last one)
+            Page<P> page = PageableExecutionUtils.getPage(slice.getContent(), pageable, () ->
+            {
+                try (Timing timing = phaseTimers.start(getEntityClass(), Phase.COUNT))
+                {
+                    return searchCountCache.get(getEntityClass(), normalizedFilter,
+                            () -> getRepository().countFiltered(normalizedFilter));
+                }
+            });
+            pageInfo.setTotalElements(page.getTotalElements());
+            pageInfo.setTotalPages(page.getTotalPages());
+        }
 
         EmbeddedContent<P> embedded = new EmbeddedContent<>();
-        embedded.setContent(page.getContent().stream().map(getConverter()::convert).collect(Collectors.toList()));
+        embedded.setContent(shareUserSummaries(slice.getContent()));
+        response.setEmbedded(embedded);
+        response.setPage(pageInfo);
+
+        return response;
+    }
+
+    /**
+     * Loads a slice of projections for {@link #getPage}.
+     * <p>
+     * This implementation loads the entities via {@link BaseEntityRepository#findFilteredSlice(String, Pageable)},
+     * preloads their references page wise and converts them with {@link #getConverter()}. Controllers should
+     * override it with a projection query selecting only the returned columns, so no entity graphs are loaded for
+     * list pages.
+     *
+     * @param filter   normalized filter text
+     * @param pageable page request
+     * @return slice of projections
+     */
+    protected Slice<P> findFilteredProjections(String filter, Pageable pageable)
+    {
+        Slice<E> slice = getRepository().findFilteredSlice(filter, pageable);
+        ServiceUtils.preloadReferences(slice.getContent(), entityManager, PRELOAD_DEPTH);
+        return slice.map(getConverter()::convert);
+    }
+
+    /**
+     * Replaces equal {@link UserSummary}s of the given page content - including those of nested user DTOs - by a
+     * single instance per user, see {@link SharedUserSummaries}.
+     *
+     * @param content converted page content
+     * @return the given content
+     */
+    protected List<P> shareUserSummaries(List<P> content)
+    {
+        SharedUserSummaries shared = new SharedUserSummaries();
+        for (P item : content)
+        {
+            if (item instanceof AuditBaseDTO dto)
+            {
+                dto.shareUserSummaries(shared);
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Suggests entities for typeahead inputs from the in-memory {@link TypeaheadIndex} - the database is only read
+     * once to build the index.
+     *
+     * @param query search text
+     * @param limit maximal number of suggestions (clamped to 1 to {@link AppConstants#DEFAULT_PAGE_SIZE})
+     * @return best matching entities
+     */
+    @GetMapping("/suggest")
+    public List<Suggestion> getSuggestions(@RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit)
+    {
+        return typeaheadIndex.suggest(getEntityClass(), query,
+                Math.max(1, Math.min(limit, AppConstants.DEFAULT_PAGE_SIZE)));
+    }
+
+    /**
+     * Keyset (seek) pagination: loads the rows following the position encoded in the cursor.
+     *
+     * @param filter   filter text
+     * @param cursor   continuation token - blank for the first page
+     * @param pageable page size and sort of the first page
+     * @return page of projections including the next cursor
+     * @throws BadRequestException cursor is invalid or the sort uses no basic, non-nullable property of the entity
+     */
+    protected PagedResponse<P> getKeysetPage(String filter, String cursor, Pageable pageable)
+    {
+        Sort defaultSort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("uuid");
+        KeysetCursorCodec.Decoded decoded = keysetCursorCodec.decode(cursor, getEntityClass(), defaultSort);
+        int size = pageable.isPaged() ? pageable.getPageSize() : AppConstants.DEFAULT_PAGE_SIZE;
+
+        Window<E> window;
+        List<P> content;
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.QUERY))
+        {
+            window = getRepository().findFiltered(SearchText.normalize(filter), decoded.getPosition(),
+                    decoded.getSort(), size);
+            ServiceUtils.preloadReferences(window.getContent(), entityManager, PRELOAD_DEPTH);
+            content = window.getContent().stream().map(getConverter()::convert).collect(Collectors.toList());
+        }
+
+        PageInfo pageInfo = new PageInfo();
+        pageInfo.setSize(size);
+        pageInfo.setLastPage(!window.hasNext());
+        if (window.hasNext() && !window.isEmpty())
+        {
+            pageInfo.setNextCursor(keysetCursorCodec.encode(decoded.getSort(),
+                    (KeysetScrollPosition) window.positionAt(window.size() - 1)));
+        }
+
+        EmbeddedContent<P> embedded = new EmbeddedContent<>();
+        embedded.setContent(shareUserSummaries(content));
+        PagedResponse<P> response = new PagedResponse<>();
         response.setEmbedded(embedded);
         response.setPage(pageInfo);
 
@@ -175,8 +390,64 @@ public abstract class AbstractBaseController<E extends BaseEntity, P, R extends
     protected P performUpdateFromMap(Map<String, Object> payload, E entity, boolean create)
             throws InvalidReferenceException, AccessDeniedException, ValidationException
     {
-        E oldState = create ? null : createCopy(entity);
-        performPatch(payload, entity, create);
+        applyUpdateFromMap(payload, entity, create);
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.SAVE))
+        {
+            saveEntity(entity, create, payload);
+        }
+        //ServiceUtils.notifyHandler(create, entity, payload, oldState, domainObjectEventHandler);
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.CONVERT))
+        {
+            return getConverter().convert(entity);
+        }
+    }
+
+    /**
+     * Patches and validates the given entity based on the given data without storing it.
+     *
+     * @param payload update data source
+     * @param entity  target entity to modify
+     * @param create  entity is a new one that is created right now (in difference to patching an existing one).
+     * @throws InvalidReferenceException single reference is no UUID or referenced entity not found
+     * @throws AccessDeniedException     user is not allowed to perform requested operation
+     * @throws ValidationException       a value was sent can not be transformed to the target structure
+     */
+    protected void applyUpdateFromMap(Map<String, Object> payload, E entity, boolean create)
+            throws InvalidReferenceException, AccessDeniedException, ValidationException
+    {
+        E oldState = patchFromMap(payload, entity, create);
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.VALIDATE))
+        {
+            ServiceUtils.performValidation(payload,entity,create,oldState,getValidator());
+        }
+    }
+
+    /**
+     * Patches the given entity based on the given data without validating or storing it.
+     *
+     * @param payload update data source
+     * @param entity  target entity to modify
+     * @param create  entity is a new one that is created right now (in difference to patching an existing one).
+     * @return previous state of the entity, {@code null} on creation
+     * @throws InvalidReferenceException single reference is no UUID or referenced entity not found
+     * @throws AccessDeniedException     user is not allowed to perform requested operation
+     * @throws ValidationException       a value was sent can not be transformed to the target structure
+     */
+    protected E patchFromMap(Map<String, Object> payload, E entity, boolean create)
+            throws InvalidReferenceException, AccessDeniedException, ValidationException
+    {
+        E oldState = null;
+        if (!create)
+        {
+            try (Timing timing = phaseTimers.start(getEntityClass(), Phase.COPY))
+            {
+                oldState = createCopy(entity, payload.keySet());
+            }
+        }
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.PATCH))
+        {
+            performPatch(payload, entity, create);
+        }
         EntityDiff<E> diff = new EntityDiff(entity.getClass(), oldState, entity, payload);
         if (create)
         {
@@ -186,22 +457,180 @@ public abstract class AbstractBaseController<E extends BaseEntity, P, R extends
         {
             //authorization.getModifyRestriction().testAuth(diff, authenticationService.currentUser());
         }
-        ServiceUtils.performValidation(payload,entity,create,oldState,getValidator());
-        saveEntity(entity, create, payload);
-        //ServiceUtils.notifyHandler(create, entity, payload, oldState, domainObjectEventHandler);
-        return getConverter().convert(entity);
+        return oldState;
+    }
+
+    /**
+     * Creates or updates multiple entities from the given data within the current transaction.
+     * <p>
+     * Items are processed in chunks of {@link MandiConfig#getBulkFlushSize()} entities: all entities of a chunk are
+     * patched, validated together (see {@link Validator#validateAll(List)} - e.g. one unique query per chunk), stored
+     * via {@link #saveEntityInBulk(BaseEntity, boolean, Map)} and flushed (and cleared). After the first invalid item
+     * nothing is stored anymore, but the remaining items are still validated to report all errors at once.
+     *
+     * @param payloads update data per entity - for updates each must contain the entity's {@code uuid}
+     * @param create   entities are new ones (in difference to patching existing ones)
+     * @return resulting projections in request order
+     * @throws BulkValidationException at least one item is invalid, unknown or references an invalid UUID
+     * @throws AccessDeniedException   user is not allowed to perform requested operation
+     */
+    protected List<P> performBulkUpdateFromMaps(@NotNull List<Map<String, Object>> payloads, boolean create)
+            throws BulkValidationException, AccessDeniedException
+    {
+        int flushSize = Math.max(1, mandiConfig.getBulkFlushSize());
+        Map<Integer, ValidationErrors> itemErrors = new HashMap<>();
+        List<P> result = new ArrayList<>(payloads.size());
+
+        for (int from = 0; from < payloads.size(); from += flushSize)
+        {
+            int to = Math.min(payloads.size(), from + flushSize);
+            List<Integer> indexes = new ArrayList<>(to - from);
+            List<ValidationItem<E>> items = new ArrayList<>(to - from);
+
+            for (int index = from; index < to; index++)
+            {
+                Map<String, Object> payload = new HashMap<>(payloads.get(index));
+                E entity = null;
+                try
+                {
+                    entity = create ? createEntity(payload) : loadBulkEntity(payload.remove("uuid"));
+                    E oldState = patchFromMap(payload, entity, create);
+                    items.add(new ValidationItem<>(entity, oldState, payload, new ValidationErrors()));
+                    indexes.add(index);
+                }
+                catch (ValidationException e)
+                {
+                    itemErrors.put(index, e.getErrors());
+                    discardInvalid(entity, create);
+                }
+                catch (InvalidReferenceException e)
+                {
+                    itemErrors.put(index, e.toValidationErrors());
+                    discardInvalid(entity, create);
+                }
+            }
+
+            try (Timing timing = phaseTimers.start(getEntityClass(), Phase.VALIDATE))
+            {
+                ServiceUtils.performBulkValidation(items, create, getValidator());
+            }
+            for (int i = 0; i < items.size(); i++)
+            {
+                if (!items.get(i).getErrors().isEmpty())
+                {
+                    itemErrors.put(indexes.get(i), items.get(i).getErrors());
+                    discardInvalid(items.get(i).getEntity(), create);
+                }
+            }
+
+            // never flush modifications after an invalid item - the transaction will be rolled back anyway
+            if (!itemErrors.isEmpty())
+            {
+                continue;
+            }
+
+            List<E> unflushed = new ArrayList<>(items.size());
+            for (ValidationItem<E> item : items)
+            {
+                try (Timing timing = phaseTimers.start(getEntityClass(), Phase.SAVE))
+                {
+                    saveEntityInBulk(item.getEntity(), create, item.getData());
+                }
+                unflushed.add(item.getEntity());
+            }
+            flushBulk(unflushed, result);
+        }
+
+        if (!itemErrors.isEmpty())
+        {
+            throw new BulkValidationException(itemErrors);
+        }
+
+        return result;
     }
 
     /**
-     * Creates a detached copy.
+     * Detaches an invalid bulk entity so its modifications are never flushed.
      *
-     * @param source source object. Never {@code null}.
+     * @param entity invalid entity, {@code null} if it could not be created or loaded
+     * @param create entity is a new one (never persisted)
+     */
+    private void discardInvalid(E entity, boolean create)
+    {
+        if (entity != null && !create && entityManager.contains(entity))
+        {
+            entityManager.detach(entity);
+        }
+    }
+
+    /**
+     * Loads the entity referenced by a bulk update item.
+     *
+     * @param uuid UUID value of the payload
+     * @return existing entity
+     * @throws ValidationException UUID is missing or invalid
+     * @throws InvalidReferenceException no entity with the given UUID exists
+     */
+    private E loadBulkEntity(Object uuid) throws ValidationException, InvalidReferenceException
+    {
+        if (uuid == null)
+        {
+            throw new ValidationException("uuid", "error.validation.required");
+        }
+
+        UUID id;
+        try
+        {
+            id = UUID.fromString(uuid.toString());
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new ValidationException("uuid");
+        }
+
+        return loadEntity(id).orElseThrow(() -> new InvalidReferenceException(
+                new InvalidReferenceException.InvalidPropertyReference("uuid", uuid.toString())));
+    }
+
+    /**
+     * Flushes the pending bulk writes, converts the written entities and clears the persistence context.
+     *
+     * @param unflushed entities written since the last flush - will be cleared
+     * @param result    list to add the projections to
+     */
+    private void flushBulk(List<E> unflushed, List<P> result)
+    {
+        if (unflushed.isEmpty())
+        {
+            return;
+        }
+
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.FLUSH))
+        {
+            getRepository().flush();
+        }
+        try (Timing timing = phaseTimers.start(getEntityClass(), Phase.BULK_CONVERT))
+        {
+            unflushed.stream().map(getConverter()::convert).forEach(result::add);
+        }
+        unflushed.clear();
+        entityManager.clear();
+    }
+
+    /**
+     * Creates a detached copy as previous state of an update, used by the validator and {@link EntityDiff}.
+     * <p>
+     * This implementation copies only uuid, version and the given (changed) properties, see
+     * {@link CloneUtils#partialBeanCopy(BaseEntity, Collection)}. Override it if a validator needs further
+     * properties of the previous state.
+     *
+     * @param source     source object. Never {@code null}.
+     * @param properties names of the changed properties (keys of the payload)
      * @return Detached copy.
      */
-    protected E createCopy(@NotNull E source)
+    protected E createCopy(@NotNull E source, @NotNull Set<String> properties)
     {
-        // If we face performance issues one day we can replace this by a custom flat mapping
-        return CloneUtils.shallowBeanCopy(source);
+        return CloneUtils.partialBeanCopy(source, properties);
     }
 
     /**
@@ -238,6 +667,20 @@ public abstract class AbstractBaseController<E extends BaseEntity, P, R extends
         getRepository().saveAndFlush(entity);
     }
 
+    /**
+     * Stores the given entity as part of a bulk operation. Must not flush - flushing is done in chunks by the caller.
+     * <p>
+     * This implementation calls {@link BaseEntityRepository#save(Object)}.
+     *
+     * @param entity  entity to save - never {@code null}
+     * @param create  {@code true} if this is a new entity that was not persisted yet
+     * @param payload input data
+     */
+    protected void saveEntityInBulk(E entity, boolean create, Map<String, Object> payload)
+    {
+        getRepository().save(entity);
+    }
+
     /**
      * Specifies an optional validator to validate the entity before saving.
      * <p>
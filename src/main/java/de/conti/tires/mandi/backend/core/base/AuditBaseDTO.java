@@ -1,6 +1,7 @@
 package de.conti.tires.mandi.backend.core.base;
 
 import de.conti.tires.mandi.backend.user.projection.UserSummary;
+import jakarta.persistence.Tuple;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -37,4 +38,30 @@ public class AuditBaseDTO
       lastModifiedDate = source.lastModifiedDate;
       lastModifiedBy = UserSummary.of(source.getLastModifiedBy());
    }
+
+   /**
+    * Fills the audit fields from a projection query row selecting {@link AuditBaseEntityRepository#AUDIT_COLUMNS}.
+    *
+    * @param row query result row
+    */
+   public void applyAuditColumns(@NonNull Tuple row)
+   {
+      uuid = row.get("uuid", UUID.class);
+      active = row.get("active", Boolean.class);
+      createdDate = row.get("createdDate", LocalDateTime.class);
+      createdBy = UserSummary.of(row, "createdBy");
+      lastModifiedDate = row.get("lastModifiedDate", LocalDateTime.class);
+      lastModifiedBy = UserSummary.of(row, "lastModifiedBy");
+   }
+
+   /**
+    * Replaces the audit users by their shared instances. Subclasses with nested user DTOs share those as well.
+    *
+    * @param shared user summaries of the page
+    */
+   public void shareUserSummaries(@NonNull SharedUserSummaries shared)
+   {
+      createdBy = shared.share(createdBy);
+      lastModifiedBy = shared.share(lastModifiedBy);
+   }
 }
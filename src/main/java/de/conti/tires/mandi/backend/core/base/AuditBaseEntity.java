@@ -2,6 +2,7 @@ package de.conti.tires.mandi.backend.core.base;
 
 import de.conti.tires.mandi.backend.user.UserEntity;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.ColumnDefault;
@@ -12,6 +13,9 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
 
 
 /**
@@ -44,4 +48,48 @@ public abstract class AuditBaseEntity extends BaseEntity
    @LastModifiedBy
    @ManyToOne(fetch = FetchType.LAZY)
    protected UserEntity lastModifiedBy;
+
+   /**
+    * Normalized (upper case) values of all {@link SearchField}s, maintained on persist and update.
+    * Searched by {@link AuditBaseEntityRepository} instead of the single fields.
+    */
+   @Getter
+   @Setter(AccessLevel.NONE)
+   @Column(length = SearchText.MAX_LENGTH)
+   protected String searchText;
+
+   /**
+    * N-grams of {@link #searchText} ({@link SearchText#grams(String)}), maintained with it. Indexed, so
+    * {@link AuditBaseEntityRepository} finds the candidates of a filter without scanning all search texts.
+    */
+   @Getter(AccessLevel.NONE)
+   @Setter(AccessLevel.NONE)
+   @ElementCollection
+   @CollectionTable(indexes = @Index(columnList = "gram"))
+   @Column(name = "gram", length = SearchText.GRAM_LENGTH, nullable = false)
+   protected Set<String> searchGrams = new HashSet<>();
+
+   /**
+    * Updates {@link #searchText} and {@link #searchGrams} from the current {@link SearchField} values if they
+    * changed. Called on persist and, for managed entities, by {@link SearchTextInterceptor} before each flush - not
+    * as {@code @PreUpdate} callback, as the (lazy) n-gram collection must not be loaded or modified during a flush.
+    */
+   @PrePersist
+   public void updateSearchText()
+   {
+      String text = SearchText.of(this);
+      if (!Objects.equals(text, searchText))
+      {
+         rebuildSearchText(text);
+      }
+   }
+
+   private void rebuildSearchText(String text)
+   {
+      searchText = text;
+      // modified in place, the collection may be a persistent one
+      Set<String> grams = SearchText.grams(text);
+      searchGrams.retainAll(grams);
+      searchGrams.addAll(grams);
+   }
 }
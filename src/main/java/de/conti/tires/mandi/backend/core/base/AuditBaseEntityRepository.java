@@ -0,0 +1,109 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Set;
+import java.util.UUID;
+
+
+/**
+ * Spring Data JPA Repository for {@link AuditBaseEntity} and all its subclasses.
+ * <p>
+ * Filters on the maintained {@link AuditBaseEntity#getSearchText()} column instead of concatenating and upper casing
+ * the searched fields per row. Entities declare the searched fields with {@link SearchField}. A contains search can
+ * not seek an index on the text itself, so the candidates are looked up in the indexed n-grams of the texts first
+ * (all n-grams of the filter must be present) and only their texts are matched. Filters shorter than
+ * {@link SearchText#GRAM_LENGTH} skip the lookup and match all texts.
+ *
+ * @param <T> subclass of {@link AuditBaseEntity}
+ */
+@NoRepositoryBean
+public interface AuditBaseEntityRepository<T extends AuditBaseEntity> extends BaseEntityRepository<T> {
+
+    /**
+     * SpEL type reference of {@link SearchText} providing the n-gram parameters of {@link #FILTER_CONDITION}.
+     */
+    String SEARCH_TEXT = "T(de.conti.tires.mandi.backend.core.base.SearchText)";
+
+    /**
+     * JPQL condition shared by the filter queries.
+     */
+    String FILTER_CONDITION = "WHERE A.searchText LIKE %:filter% " +
+            "AND (:#{" + SEARCH_TEXT + ".gramCount([0])} = 0L OR A.uuid IN (" +
+            "SELECT G.uuid FROM #{#entityName} G JOIN G.searchGrams S " +
+            "WHERE S IN :#{" + SEARCH_TEXT + ".queryGrams([0])} " +
+            "GROUP BY G.uuid HAVING COUNT(S) = :#{" + SEARCH_TEXT + ".gramCount([0])})) ";
+
+    /**
+     * JPQL select list of the {@link AuditBaseDTO} columns for projection queries, read by
+     * {@link AuditBaseDTO#applyAuditColumns(Tuple)}. Requires {@link #AUDIT_JOINS}.
+     */
+    String AUDIT_COLUMNS = "A.uuid AS uuid, A.active AS active, " +
+            "A.createdDate AS createdDate, A.lastModifiedDate AS lastModifiedDate, " +
+            "CB.uuid AS createdByUuid, CB.firstname AS createdByFirstname, " +
+            "CB.lastname AS createdByLastname, CB.email AS createdByEmail, " +
+            "LMB.uuid AS lastModifiedByUuid, LMB.firstname AS lastModifiedByFirstname, " +
+            "LMB.lastname AS lastModifiedByLastname, LMB.email AS lastModifiedByEmail ";
+
+    /**
+     * JPQL joins of the audit users used by {@link #AUDIT_COLUMNS}.
+     */
+    String AUDIT_JOINS = "LEFT JOIN A.createdBy CB LEFT JOIN A.lastModifiedBy LMB ";
+
+    @Override
+    @Query(
+            "SELECT A FROM #{#entityName} A " + FILTER_CONDITION
+    )
+    Page<T> findFiltered(
+            String filter,
+            Pageable pageable
+    );
+
+    @Override
+    @Query(
+            "SELECT A FROM #{#entityName} A " + FILTER_CONDITION
+    )
+    Slice<T> findFilteredSlice(
+            String filter,
+            Pageable pageable
+    );
+
+    @Override
+    @Query(
+            "SELECT COUNT(A) FROM #{#entityName} A " + FILTER_CONDITION
+    )
+    long countFiltered(
+            String filter
+    );
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default Specification<T> filterSpecification(String filter) {
+        return (root, query, cb) -> {
+            Predicate contains = cb.like(root.get("searchText"), "%" + filter + "%");
+            Set<String> grams = SearchText.grams(filter);
+            if (grams.isEmpty()) {
+                return contains;
+            }
+
+            Subquery<UUID> candidates = query.subquery(UUID.class);
+            Root<T> candidate = candidates.from((Class<T>) root.getJavaType());
+            Join<T, String> gram = candidate.join("searchGrams");
+            candidates.select(candidate.get("uuid"))
+                    .where(gram.in(grams))
+                    .groupBy(candidate.get("uuid"))
+                    .having(cb.equal(cb.count(gram), (long) grams.size()));
+            return cb.and(contains, root.get("uuid").in(candidates));
+        };
+    }
+}
@@ -17,6 +17,7 @@ import java.util.UUID;
 @MappedSuperclass
 @Getter
 @Setter
+@EntityListeners(SearchIndexListener.class)
 public abstract class BaseEntity implements UuidIdentifiable, Serializable
 {
    /**
@@ -1,8 +1,9 @@
 package de.conti.tires.mandi.backend.core.base;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
 
@@ -15,7 +16,8 @@ import java.util.UUID;
  * @param <T> subclass of {@link BaseEntity}
  */
 @NoRepositoryBean
-public interface BaseEntityRepository<T extends UuidIdentifiable> extends JpaRepository<T, UUID> {
+public interface BaseEntityRepository<T extends UuidIdentifiable> extends JpaRepository<T, UUID>,
+        JpaSpecificationExecutor<T> {
 
     // generic filter implementation
     @Query(
@@ -25,4 +27,59 @@ public interface BaseEntityRepository<T extends UuidIdentifiable> extends JpaRep
             String filter,
             Pageable pageable
     );
+
+    /**
+     * Count free variant of {@link #findFiltered(String, Pageable)}: reads one additional row to determine whether
+     * there is a next slice instead of running a count query.
+     *
+     * @param filter   upper case filter text
+     * @param pageable page request
+     * @return slice of rows
+     */
+    @Query(
+            "SELECT A FROM #{#entityName} A "
+    )
+    Slice<T> findFilteredSlice(
+            String filter,
+            Pageable pageable
+    );
+
+    /**
+     * Counts the rows matched by {@link #findFiltered(String, Pageable)}.
+     *
+     * @param filter upper case filter text
+     * @return total number of rows
+     */
+    @Query(
+            "SELECT COUNT(A) FROM #{#entityName} A "
+    )
+    long countFiltered(
+            String filter
+    );
+
+    /**
+     * Keyset (seek) variant of {@link #findFiltered(String, Pageable)}: returns the rows following the given
+     * position without counting or skipping previous rows. The sort is extended by the UUID to be unique.
+     *
+     * @param filter   upper case filter text
+     * @param position position to continue after ({@link ScrollPosition#keyset()} for the first window)
+     * @param sort     sort order - must be the same for all windows of one scroll
+     * @param limit    maximal number of rows to return
+     * @return window of rows
+     */
+    default Window<T> findFiltered(String filter, KeysetScrollPosition position, Sort sort, int limit) {
+        return findBy(filterSpecification(filter), query -> query.sortBy(sort).limit(limit).scroll(position));
+    }
+
+    /**
+     * Same restriction as {@link #findFiltered(String, Pageable)} as {@link Specification}.
+     * Repositories overriding {@code findFiltered} must override this one, {@link #findFilteredSlice} and
+     * {@link #countFiltered} accordingly.
+     *
+     * @param filter upper case filter text
+     * @return filter specification - the generic implementation does not restrict
+     */
+    default Specification<T> filterSpecification(String filter) {
+        return Specification.unrestricted();
+    }
 }
@@ -29,7 +29,8 @@ public class EntityDiff<E extends BaseEntity> extends StateDiff<E>
     * Creates a new instance.
     *
     * @param entityClass   entity type
-    * @param previousState old state (@code null} in case of a new object
+    * @param previousState old state (@code null} in case of a new object - may be a partial copy holding the
+    *                      properties of {@code data} only, see {@link AbstractBaseController#createCopy}
     * @param currentState  new state (@code null} in case of a deletion
     * @param data          original change data of POST or PATCH request - if {@code null} an empty map will be created
     * @throws IllegalArgumentException entityClass is {@code null} or no state is set
@@ -0,0 +1,135 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.util.PropertyAccessor;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.Metamodel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Precompiled patch information of an entity class used by {@link ServiceUtils#performPatch}.
+ * <p>
+ * Built once per entity class from the JPA {@link Metamodel} and bean introspection. Holds the
+ * {@link PropertyAccessor}s of all simple (non reference) properties and the single {@link BaseEntity} references
+ * including their target entity names, so a patch does not need to introspect the entity again.
+ *
+ * @param <E> entity type
+ */
+public final class EntityPatchPlan<E extends BaseEntity>
+{
+   private static final Map<Class<?>, EntityPatchPlan<?>> PLANS = new ConcurrentHashMap<>();
+
+   /**
+    * Entity type.
+    */
+   @Getter
+   private final Class<E> entityClass;
+
+   /**
+    * All readable or writable properties (property name to accessor).
+    */
+   private final Map<String, PropertyAccessor> properties;
+
+   /**
+    * Accessors of properties not referencing a {@link UuidIdentifiable} (property name to accessor).
+    */
+   private final Map<String, PropertyAccessor> simpleProperties;
+
+   /**
+    * Single (non collection) references to other entities (property name to reference information).
+    */
+   @Getter
+   private final Map<String, SingleReference> singleReferences;
+
+   private EntityPatchPlan(Class<E> entityClass, Metamodel metamodel)
+   {
+      this.entityClass = entityClass;
+      this.properties = PropertyAccessor.forClass(entityClass);
+
+      Map<String, PropertyAccessor> simple = new HashMap<>();
+      properties.values().stream()
+            .filter(accessor -> !UuidIdentifiable.class.isAssignableFrom(accessor.getType()))
+            .forEach(accessor -> simple.put(accessor.getName(), accessor));
+      this.simpleProperties = Collections.unmodifiableMap(simple);
+
+      Map<String, SingleReference> references = new HashMap<>();
+      for (Attribute<? super E, ?> attribute : metamodel.entity(entityClass).getAttributes())
+      {
+         if (attribute.isCollection() || !BaseEntity.class.isAssignableFrom(attribute.getJavaType()))
+         {
+            continue;
+         }
+
+         PropertyAccessor accessor = properties.get(attribute.getName());
+         if (accessor == null)
+         {
+            continue;
+         }
+
+         @SuppressWarnings("unchecked")
+         Class<? extends BaseEntity> type = (Class<? extends BaseEntity>) attribute.getJavaType();
+         references.put(attribute.getName(),
+               new SingleReference(accessor, type, metamodel.entity(type).getName()));
+      }
+      this.singleReferences = Collections.unmodifiableMap(references);
+   }
+
+   /**
+    * Returns the (cached) plan for the given entity class. The plan is built on first request.
+    *
+    * @param entityClass entity class (no Hibernate proxy class)
+    * @param metamodel   JPA metamodel to resolve references with
+    * @param <E>         entity type
+    * @return patch plan
+    */
+   @SuppressWarnings("unchecked")
+   public static <E extends BaseEntity> EntityPatchPlan<E> of(@NonNull Class<E> entityClass,
+         @NonNull Metamodel metamodel)
+   {
+      return (EntityPatchPlan<E>) PLANS.computeIfAbsent(entityClass,
+            type -> new EntityPatchPlan<>((Class<E>) type, metamodel));
+   }
+
+   /**
+    * @param property property name
+    * @return accessor of any property or {@code null} if unknown
+    */
+   public PropertyAccessor getProperty(String property)
+   {
+      return properties.get(property);
+   }
+
+   /**
+    * @param property property name
+    * @return accessor of a property not referencing another entity or {@code null} if unknown or a reference
+    */
+   public PropertyAccessor getSimpleProperty(String property)
+   {
+      return simpleProperties.get(property);
+   }
+
+   /**
+    * Precompiled information of a single reference property.
+    */
+   @Value
+   public static class SingleReference
+   {
+      /**
+       * Accessor of the referencing property.
+       */
+      private PropertyAccessor accessor;
+      /**
+       * Referenced entity class.
+       */
+      private Class<? extends BaseEntity> type;
+      /**
+       * JPA entity name of the referenced class (usable in JPQL).
+       */
+      private String entityName;
+   }
+}
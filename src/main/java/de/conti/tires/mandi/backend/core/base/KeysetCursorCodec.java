@@ -0,0 +1,200 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.core.exception.BadRequestException;
+import de.conti.tires.mandi.backend.util.PropertyAccessor;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.AnnotatedElement;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Encodes and decodes the opaque continuation tokens of keyset (seek) pagination.
+ * <p>
+ * A token holds the sort orders of the first request and the sort key values plus the UUID of the last returned
+ * row. It is a base64url encoded JSON document - values are converted back to the entity's property types on
+ * decoding.
+ * <p>
+ * Only non-nullable basic properties of the entity itself can be sort keys: a row with a {@code null} key would be
+ * skipped by the seek condition and nested keys can not be restored from a token. Sorts and tokens using other
+ * properties are rejected as bad request on the first page already.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class KeysetCursorCodec
+{
+   private final JsonMapper jsonMapper;
+   private final EntityManagerFactory entityManagerFactory;
+
+   private final Map<Class<?>, Set<String>> sortableProperties = new ConcurrentHashMap<>();
+
+   /**
+    * Creates the continuation token for the given position.
+    *
+    * @param sort     sort used to fetch the current page
+    * @param position keyset position of the last returned row
+    * @return opaque token
+    */
+   public String encode(@NonNull Sort sort, @NonNull KeysetScrollPosition position)
+   {
+      Cursor cursor = new Cursor();
+      sort.forEach(order -> cursor.getSort().add(order.getProperty() + "," + order.getDirection().name()));
+      cursor.getKeys().putAll(position.getKeys());
+
+      byte[] json = jsonMapper.writeValueAsBytes(cursor);
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+   }
+
+   /**
+    * Decodes a continuation token. A blank token represents the first page.
+    *
+    * @param token       token as created by {@link #encode(Sort, KeysetScrollPosition)} or blank
+    * @param entityClass entity type the token was created for
+    * @param defaultSort sort to use for the first page
+    * @return sort and position to continue with
+    * @throws BadRequestException token is invalid or the sort uses a property that is no keyset property
+    */
+   public Decoded decode(String token, @NonNull Class<?> entityClass, @NonNull Sort defaultSort)
+         throws BadRequestException
+   {
+      Set<String> sortable = sortableProperties.computeIfAbsent(entityClass, this::findSortableProperties);
+      try
+      {
+         if (StringUtils.isBlank(token))
+         {
+            checkSort(defaultSort, sortable);
+            return new Decoded(defaultSort, ScrollPosition.keyset());
+         }
+
+         Cursor cursor = jsonMapper.readValue(Base64.getUrlDecoder().decode(token), Cursor.class);
+
+         List<Sort.Order> orders = new ArrayList<>(cursor.getSort().size());
+         for (String order : cursor.getSort())
+         {
+            String[] parts = order.split(",");
+            orders.add(new Sort.Order(Sort.Direction.valueOf(parts[1]), parts[0]));
+         }
+         Sort sort = Sort.by(orders);
+         checkSort(sort, sortable);
+
+         Map<String, Object> keys = new LinkedHashMap<>();
+         for (Map.Entry<String, Object> key : cursor.getKeys().entrySet())
+         {
+            if (!sortable.contains(key.getKey()) || key.getValue() == null)
+            {
+               throw new IllegalArgumentException("invalid keyset value of " + key.getKey());
+            }
+            PropertyAccessor accessor = PropertyAccessor.forProperty(entityClass, key.getKey());
+            keys.put(key.getKey(), jsonMapper.convertValue(key.getValue(), accessor.getType()));
+         }
+         for (Sort.Order order : sort)
+         {
+            if (!keys.containsKey(order.getProperty()))
+            {
+               throw new IllegalArgumentException("keyset value of " + order.getProperty() + " missing");
+            }
+         }
+
+         return new Decoded(sort, ScrollPosition.forward(keys));
+      }
+      catch (JacksonException | IllegalArgumentException | IndexOutOfBoundsException e)
+      {
+         log.debug("invalid keyset cursor {}", token, e);
+         throw new BadRequestException(e);
+      }
+   }
+
+   private static void checkSort(Sort sort, Set<String> sortable)
+   {
+      for (Sort.Order order : sort)
+      {
+         if (!sortable.contains(order.getProperty()))
+         {
+            throw new IllegalArgumentException("no keyset property " + order.getProperty());
+         }
+      }
+   }
+
+   /**
+    * @return names of the basic, non-nullable properties of the given entity type (including its id)
+    */
+   private Set<String> findSortableProperties(Class<?> entityClass)
+   {
+      Set<String> result = new HashSet<>();
+      for (SingularAttribute<?, ?> attribute : entityManagerFactory.getMetamodel().entity(entityClass)
+            .getSingularAttributes())
+      {
+         if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC
+               && isNotNull(attribute) && PropertyAccessor.forProperty(entityClass, attribute.getName()) != null)
+         {
+            result.add(attribute.getName());
+         }
+      }
+      return Collections.unmodifiableSet(result);
+   }
+
+   private static boolean isNotNull(SingularAttribute<?, ?> attribute)
+   {
+      if (attribute.isId() || !attribute.isOptional() || attribute.getJavaType().isPrimitive())
+      {
+         return true;
+      }
+      return attribute.getJavaMember() instanceof AnnotatedElement element
+            && (element.isAnnotationPresent(NotNull.class) || element.isAnnotationPresent(NotBlank.class)
+            || element.isAnnotationPresent(NotEmpty.class));
+   }
+
+   /**
+    * Sort and position restored from a token.
+    */
+   @Value
+   public static class Decoded
+   {
+      /**
+       * Sort to continue with.
+       */
+      private Sort sort;
+      /**
+       * Position to continue after.
+       */
+      private KeysetScrollPosition position;
+   }
+
+   /**
+    * Token content.
+    */
+   @Data
+   @NoArgsConstructor
+   public static class Cursor
+   {
+      /**
+       * Sort orders as "property,direction".
+       */
+      private List<String> sort = new ArrayList<>();
+      /**
+       * Keyset values of the last returned row (property to value).
+       */
+      private Map<String, Object> keys = new LinkedHashMap<>();
+   }
+}
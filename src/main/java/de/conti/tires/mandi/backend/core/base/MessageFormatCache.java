@@ -0,0 +1,180 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import de.conti.tires.mandi.backend.core.config.MandiConfig;
+import de.conti.tires.mandi.backend.core.exception.ApiMessageDto;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+
+
+/**
+ * Cache of precompiled {@link MessageFormat}s keyed by message code and locale.
+ * <p>
+ * Translates {@link Translatable}s for {@link ApiMessageDto} and {@link TranslatableSerializer} without resolving
+ * and parsing the message pattern of the {@link MessageSource} on every request. Missing codes are cached as well and
+ * translated to the code itself. All codes of the message bundles are compiled for the
+ * {@link MandiConfig#getMessageLocales()} once the application is ready.
+ */
+@Log4j2
+@Component
+public class MessageFormatCache
+{
+   private final MessageSource messageSource;
+   private final MandiConfig mandiConfig;
+   private final Cache<Key, Entry> entries;
+
+   /**
+    * Component constructor.
+    *
+    * @param messageSource message source resolving the patterns
+    * @param mandiConfig   application configuration
+    */
+   public MessageFormatCache(@NonNull MessageSource messageSource, @NonNull MandiConfig mandiConfig)
+   {
+      this.messageSource = messageSource;
+      this.mandiConfig = mandiConfig;
+      this.entries = CacheBuilder.newBuilder()
+            .maximumSize(mandiConfig.getMessageFormatCacheSize())
+            .build();
+   }
+
+   /**
+    * Translates the message to the locale of the current request.
+    *
+    * @param message message to translate
+    * @return translated message or its key if no message is defined
+    */
+   public String translate(@NonNull Translatable message)
+   {
+      return translate(message.getKey(), message.getParameters(), LocaleContextHolder.getLocale());
+   }
+
+   /**
+    * Translates the given message code.
+    *
+    * @param code       message code
+    * @param parameters message parameters, might be {@code null}
+    * @param locale     target locale
+    * @return translated message or the code if no message is defined
+    */
+   public String translate(@NonNull String code, Object[] parameters, @NonNull Locale locale)
+   {
+      Entry entry = entry(code, locale);
+      if (entry.getPattern() == null)
+      {
+         return code;
+      }
+      // like the MessageSource, patterns are not formatted without parameters
+      if (parameters == null || parameters.length == 0 || entry.getFormat() == null)
+      {
+         return entry.getPattern();
+      }
+
+      // MessageFormat is not thread safe - a clone is cheaper than parsing and does not serialize the requests
+      MessageFormat format = (MessageFormat) entry.getFormat().clone();
+      return format.format(parameters);
+   }
+
+   /**
+    * Compiles all codes of the message bundles for the configured locales.
+    */
+   @EventListener(ApplicationReadyEvent.class)
+   public void warmUp()
+   {
+      long start = System.currentTimeMillis();
+      List<Locale> locales = mandiConfig.getMessageLocales().stream()
+            .map(Locale::forLanguageTag)
+            .toList();
+
+      Set<String> codes = new HashSet<>(codes(mandiConfig.getMessageBasename() + ".properties"));
+      for (Locale locale : locales)
+      {
+         codes.addAll(codes(mandiConfig.getMessageBasename() + "_" + locale.getLanguage() + ".properties"));
+      }
+
+      for (Locale locale : locales)
+      {
+         codes.forEach(code -> entry(code, locale));
+      }
+      log.info("{} message formats of {} locales compiled in {} ms", codes.size(), locales.size(),
+            System.currentTimeMillis() - start);
+   }
+
+   private Entry entry(String code, Locale locale)
+   {
+      try
+      {
+         return entries.get(new Key(code, locale), () -> compile(code, locale));
+      }
+      catch (ExecutionException e)
+      {
+         throw new IllegalStateException(e.getCause());
+      }
+   }
+
+   private Entry compile(String code, Locale locale)
+   {
+      // without parameters the message source returns the raw pattern
+      String pattern = messageSource.getMessage(code, null, null, locale);
+      if (pattern == null)
+      {
+         return new Entry(null, null);
+      }
+
+      try
+      {
+         return new Entry(pattern, new MessageFormat(pattern, locale));
+      }
+      catch (IllegalArgumentException e)
+      {
+         log.warn("invalid message pattern of {} ({}): {}", code, locale, e.getMessage());
+         return new Entry(pattern, null);
+      }
+   }
+
+   private static Set<String> codes(String resource)
+   {
+      try
+      {
+         return PropertiesLoaderUtils.loadAllProperties(resource).stringPropertyNames();
+      }
+      catch (IOException e)
+      {
+         log.warn("message bundle {} could not be read: {}", resource, e.getMessage());
+         return Collections.emptySet();
+      }
+   }
+
+   /**
+    * Cache key.
+    */
+   @Value
+   private static class Key
+   {
+      private String code;
+      private Locale locale;
+   }
+
+   /**
+    * Resolved pattern and its compiled format - both {@code null} for undefined codes.
+    */
+   @Value
+   private static class Entry
+   {
+      private String pattern;
+      private MessageFormat format;
+   }
+}
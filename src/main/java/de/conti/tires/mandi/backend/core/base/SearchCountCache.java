@@ -0,0 +1,134 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import de.conti.tires.mandi.backend.core.config.MandiConfig;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Short-lived cache of total counts of filtered searches.
+ * <p>
+ * Entries are keyed by entity class and normalized (upper case) filter. They expire after
+ * {@link MandiConfig#getSearchCountCacheTtlMs()} and are invalidated per entity class by the
+ * {@link SearchIndexListener} when entities are written.
+ */
+@Log4j2
+@Component
+public class SearchCountCache
+{
+   private final Cache<Key, Long> counts;
+
+   /**
+    * Component constructor.
+    *
+    * @param mandiConfig application configuration
+    */
+   public SearchCountCache(@NonNull MandiConfig mandiConfig)
+   {
+      this.counts = CacheBuilder.newBuilder()
+            .expireAfterWrite(mandiConfig.getSearchCountCacheTtlMs(), TimeUnit.MILLISECONDS)
+            .maximumSize(mandiConfig.getSearchCountCacheSize())
+            .build();
+   }
+
+   /**
+    * Returns the cached count or calculates and caches it.
+    *
+    * @param entityClass entity type searched for
+    * @param filter      normalized filter
+    * @param counter     count query to run on cache miss
+    * @return total count
+    */
+   public long get(@NonNull Class<?> entityClass, @NonNull String filter, @NonNull LongSupplier counter)
+   {
+      try
+      {
+         return counts.get(new Key(entityClass, filter), counter::getAsLong);
+      }
+      catch (ExecutionException e)
+      {
+         // LongSupplier cannot throw checked exceptions
+         throw new IllegalStateException(e.getCause());
+      }
+   }
+
+   /**
+    * Drops all cached counts of the given entity type - now and again after the current transaction is committed,
+    * so no concurrent search can cache a count of the state before the commit. Further invalidations of the same
+    * type within the transaction are skipped, entities are reported one by one on flush.
+    *
+    * @param entityClass entity type that was written
+    */
+   public void invalidate(@NonNull Class<?> entityClass)
+   {
+      if (TransactionSynchronizationManager.isSynchronizationActive())
+      {
+         PendingInvalidations pending = null;
+         for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations())
+         {
+            if (synchronization instanceof PendingInvalidations candidate && candidate.isOf(this))
+            {
+               pending = candidate;
+               break;
+            }
+         }
+         if (pending == null)
+         {
+            pending = new PendingInvalidations();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+         }
+         if (!pending.entityClasses.add(entityClass))
+         {
+            return;
+         }
+      }
+      drop(entityClass);
+   }
+
+   private void drop(Class<?> entityClass)
+   {
+      counts.asMap().keySet().removeIf(key -> key.getEntityClass().equals(entityClass));
+      log.trace("search counts of {} invalidated", entityClass.getSimpleName());
+   }
+
+   /**
+    * Entity types written in the current transaction, invalidated again after its commit.
+    */
+   private final class PendingInvalidations implements TransactionSynchronization
+   {
+      private final Set<Class<?>> entityClasses = new HashSet<>();
+
+      boolean isOf(SearchCountCache cache)
+      {
+         return SearchCountCache.this == cache;
+      }
+
+      @Override
+      public void afterCommit()
+      {
+         entityClasses.forEach(SearchCountCache.this::drop);
+      }
+   }
+
+   /**
+    * Cache key.
+    */
+   @Value
+   private static class Key
+   {
+      private Class<?> entityClass;
+      private String filter;
+   }
+}
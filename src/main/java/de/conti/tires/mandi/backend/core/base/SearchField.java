@@ -0,0 +1,18 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Marks a property of an {@link AuditBaseEntity} feeding its normalized {@link AuditBaseEntity#getSearchText()}.
+ * <p>
+ * The values of all marked fields are joined in declaration order (super classes first), separated by a blank.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SearchField
+{
+}
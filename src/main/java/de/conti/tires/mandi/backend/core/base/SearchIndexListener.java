@@ -0,0 +1,61 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.util.HibernateUtils;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+
+
+/**
+ * JPA entity listener of {@link BaseEntity} keeping the {@link TypeaheadIndex} and the {@link SearchCountCache} up
+ * to date for every written entity - no matter whether it is written by a controller, a service or the seed data.
+ * Both apply the changes after the commit of the transaction only.
+ * <p>
+ * Instantiated by Hibernate via the Spring bean container. The components are resolved on first use, as the
+ * listener is created while the entity manager factory they depend on is built.
+ */
+public class SearchIndexListener
+{
+   private final ObjectProvider<TypeaheadIndex> typeaheadIndex;
+   private final ObjectProvider<SearchCountCache> searchCountCache;
+
+   /**
+    * Listener constructor.
+    *
+    * @param typeaheadIndex   typeahead index to update
+    * @param searchCountCache count cache to invalidate
+    */
+   public SearchIndexListener(@NonNull ObjectProvider<TypeaheadIndex> typeaheadIndex,
+         @NonNull ObjectProvider<SearchCountCache> searchCountCache)
+   {
+      this.typeaheadIndex = typeaheadIndex;
+      this.searchCountCache = searchCountCache;
+   }
+
+   /**
+    * Indexes a created or modified entity.
+    *
+    * @param entity written entity
+    */
+   @PostPersist
+   @PostUpdate
+   public void written(BaseEntity entity)
+   {
+      typeaheadIndex.getObject().update(entity);
+      searchCountCache.getObject().invalidate(HibernateUtils.unproxyClass(entity));
+   }
+
+   /**
+    * Drops a deleted entity from the index.
+    *
+    * @param entity deleted entity
+    */
+   @PostRemove
+   public void removed(BaseEntity entity)
+   {
+      typeaheadIndex.getObject().remove(entity);
+      searchCountCache.getObject().invalidate(HibernateUtils.unproxyClass(entity));
+   }
+}
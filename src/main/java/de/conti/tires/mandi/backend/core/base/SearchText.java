@@ -0,0 +1,216 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.util.PropertyAccessor;
+import lombok.NonNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Builds the normalized search text of entities from their {@link SearchField}s and the n-grams it is found by.
+ */
+public final class SearchText
+{
+   /**
+    * Maximal length of a search text - longer texts are cut.
+    */
+   public static final int MAX_LENGTH = 2048;
+
+   /**
+    * Length of the n-grams of {@link #grams(String)}.
+    */
+   public static final int GRAM_LENGTH = 3;
+
+   /**
+    * Placeholder n-gram of filters shorter than {@link #GRAM_LENGTH} - never stored, keeps the IN list valid.
+    */
+   private static final Set<String> NO_GRAMS = Set.of("");
+
+   /**
+    * Maps an entity class to the accessors of its search fields.
+    */
+   private static final Map<Class<?>, List<PropertyAccessor>> FIELDS = new ConcurrentHashMap<>();
+
+   private SearchText()
+   {
+   }
+
+   /**
+    * Normalizes a filter or field value the same way the search text is normalized.
+    *
+    * @param text text to normalize
+    * @return upper case text
+    */
+   public static String normalize(@NonNull String text)
+   {
+      return text.toUpperCase(Locale.ROOT);
+   }
+
+   /**
+    * Builds the search text of the given entity.
+    *
+    * @param entity entity to build the text for
+    * @return normalized search text or {@code null} if the entity has no search fields
+    */
+   public static String of(@NonNull Object entity)
+   {
+      String label = label(entity);
+      return label == null ? null : text(label);
+   }
+
+   /**
+    * Builds the search text of a label.
+    *
+    * @param label display text, see {@link #label(Object)}
+    * @return normalized search text, cut to {@link #MAX_LENGTH}
+    */
+   public static String text(@NonNull String label)
+   {
+      String text = normalize(label);
+      return text.length() > MAX_LENGTH ? text.substring(0, MAX_LENGTH) : text;
+   }
+
+   /**
+    * Splits a normalized text into its distinct n-grams of {@link #GRAM_LENGTH} characters. They are stored per
+    * entity, so a filter contained in the search text is found via an index: all n-grams of the filter must be
+    * stored for the entity.
+    *
+    * @param text normalized text, may be {@code null}
+    * @return n-grams, empty if the text is {@code null} or shorter than {@link #GRAM_LENGTH}
+    */
+   public static Set<String> grams(String text)
+   {
+      Set<String> result = new HashSet<>();
+      if (text != null)
+      {
+         for (int i = 0; i + GRAM_LENGTH <= text.length(); i++)
+         {
+            result.add(text.substring(i, i + GRAM_LENGTH));
+         }
+      }
+      return result;
+   }
+
+   /**
+    * N-gram parameter of the lookup in {@link AuditBaseEntityRepository#FILTER_CONDITION}.
+    *
+    * @param filter normalized filter
+    * @return n-grams of the filter or a placeholder if it is too short (the lookup is skipped then)
+    */
+   public static Set<String> queryGrams(String filter)
+   {
+      Set<String> grams = grams(filter);
+      return grams.isEmpty() ? NO_GRAMS : grams;
+   }
+
+   /**
+    * Count parameter of the lookup in {@link AuditBaseEntityRepository#FILTER_CONDITION}.
+    *
+    * @param filter normalized filter
+    * @return number of distinct n-grams of the filter, {@code 0} if it is too short for the lookup
+    */
+   public static long gramCount(String filter)
+   {
+      return grams(filter).size();
+   }
+
+   /**
+    * Builds the (not normalized) display text of the given entity.
+    *
+    * @param entity entity to build the text for
+    * @return search field values joined by blanks or {@code null} if the entity has no search fields
+    */
+   public static String label(@NonNull Object entity)
+   {
+      List<PropertyAccessor> accessors = fields(entity.getClass());
+      if (accessors.isEmpty())
+      {
+         return null;
+      }
+
+      Object[] values = new Object[accessors.size()];
+      for (int i = 0; i < values.length; i++)
+      {
+         PropertyAccessor accessor = accessors.get(i);
+         try
+         {
+            values[i] = accessor.get(entity);
+         }
+         catch (NoSuchMethodException | InvocationTargetException e)
+         {
+            throw new IllegalStateException("could not read search field " + accessor.getName(), e);
+         }
+      }
+      return join(values);
+   }
+
+   /**
+    * Joins search field values the way {@link #label(Object)} does.
+    *
+    * @param values search field values in {@link #fields(Class)} order, may contain {@code null}s
+    * @return values joined by blanks, {@code null}s as empty texts
+    */
+   public static String join(@NonNull Object... values)
+   {
+      StringBuilder text = new StringBuilder();
+      for (int i = 0; i < values.length; i++)
+      {
+         if (i > 0)
+         {
+            text.append(' ');
+         }
+         if (values[i] != null)
+         {
+            text.append(values[i]);
+         }
+      }
+      return text.toString();
+   }
+
+   /**
+    * @param type entity class (Hibernate proxy classes should be unwrapped before)
+    * @return accessors of the search fields of the given class in declaration order
+    */
+   public static List<PropertyAccessor> fields(@NonNull Class<?> type)
+   {
+      return FIELDS.computeIfAbsent(type, SearchText::collectFields);
+   }
+
+   private static List<PropertyAccessor> collectFields(Class<?> type)
+   {
+      List<Class<?>> hierarchy = new ArrayList<>();
+      for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass())
+      {
+         hierarchy.addFirst(current);
+      }
+
+      List<PropertyAccessor> result = new ArrayList<>();
+      for (Class<?> current : hierarchy)
+      {
+         for (Field field : current.getDeclaredFields())
+         {
+            if (!field.isAnnotationPresent(SearchField.class))
+            {
+               continue;
+            }
+            PropertyAccessor accessor = PropertyAccessor.forProperty(type, field.getName());
+            if (accessor == null || !accessor.isReadable())
+            {
+               throw new IllegalStateException("search field " + field.getName() + " of " + type.getName()
+                     + " has no getter");
+            }
+            result.add(accessor);
+         }
+      }
+      return Collections.unmodifiableList(result);
+   }
+}
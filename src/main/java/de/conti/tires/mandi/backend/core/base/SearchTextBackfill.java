@@ -0,0 +1,188 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.core.config.MandiConfig;
+import de.conti.tires.mandi.backend.util.PropertyAccessor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.mapping.ModelPart;
+import org.hibernate.metamodel.mapping.PluralAttributeMapping;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+
+/**
+ * Fills the search text and n-grams of rows stored without them (e.g. before the columns existed or by plain SQL)
+ * on startup, so they are found by the filtered searches of {@link AuditBaseEntityRepository}.
+ * <p>
+ * Runs before the seed data is loaded. Rows are rebuilt in chunks of {@link MandiConfig#getBulkFlushSize()}, one
+ * transaction each. Only the search fields are read and the search text and n-grams are written with bulk
+ * statements, so neither the auditing listener nor the version of the rows is triggered - the derived columns do not
+ * count as a modification. Does nothing if all rows are complete.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SearchTextBackfill implements ApplicationRunner
+{
+   private final EntityManager entityManager;
+   private final PlatformTransactionManager transactionManager;
+   private final MandiConfig mandiConfig;
+
+   @Override
+   public void run(ApplicationArguments args)
+   {
+      for (EntityType<?> type : entityManager.getMetamodel().getEntities())
+      {
+         if (AuditBaseEntity.class.isAssignableFrom(type.getJavaType())
+               && !SearchText.fields(type.getJavaType()).isEmpty())
+         {
+            backfill(type.getName());
+         }
+      }
+   }
+
+   /**
+    * Rebuilds the search text of all incomplete rows of the given entity type.
+    *
+    * @param entityName JPA entity name
+    * @return number of rebuilt rows
+    */
+   public long backfill(String entityName)
+   {
+      Class<?> entityClass = entityManager.getMetamodel().getEntities().stream()
+            .filter(type -> type.getName().equals(entityName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("unknown entity " + entityName))
+            .getJavaType();
+      List<PropertyAccessor> fields = SearchText.fields(entityClass);
+      GramTable grams = gramTable(entityClass);
+
+      // texts shorter than an n-gram have no n-grams - they must not be selected again
+      String jpql = "SELECT A.uuid, " + fields.stream()
+            .map(field -> "A." + field.getName())
+            .collect(Collectors.joining(", "))
+            + " FROM " + entityName + " A WHERE A.searchText IS NULL "
+            + "OR (A.searchGrams IS EMPTY AND LENGTH(A.searchText) >= " + SearchText.GRAM_LENGTH + ")";
+      String update = "UPDATE " + entityName + " A SET A.searchText = :text WHERE A.uuid = :uuid";
+      int chunk = Math.max(1, mandiConfig.getBulkFlushSize());
+      TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+      long start = System.currentTimeMillis();
+      long total = 0;
+      int rebuilt;
+      do
+      {
+         rebuilt = transaction.execute(status ->
+         {
+            List<Tuple> rows = entityManager.createQuery(jpql, Tuple.class)
+                  .setMaxResults(chunk)
+                  .getResultList();
+            for (Tuple row : rows)
+            {
+               Object[] values = new Object[fields.size()];
+               for (int i = 0; i < values.length; i++)
+               {
+                  values[i] = row.get(i + 1);
+               }
+               UUID uuid = row.get(0, UUID.class);
+               String text = SearchText.text(SearchText.join(values));
+
+               entityManager.createQuery(update)
+                     .setParameter("text", text)
+                     .setParameter("uuid", uuid)
+                     .executeUpdate();
+               grams.replace(entityManager, uuid, SearchText.grams(text));
+            }
+            return rows.size();
+         });
+         total += rebuilt;
+      }
+      while (rebuilt == chunk);
+
+      if (total > 0)
+      {
+         log.info("search text of {} {} rows rebuilt in {} ms", total, entityName,
+               System.currentTimeMillis() - start);
+      }
+      return total;
+   }
+
+   /**
+    * Resolves the n-gram collection table of an entity type from the Hibernate mapping - its name is implicit.
+    */
+   private GramTable gramTable(Class<?> entityClass)
+   {
+      PluralAttributeMapping mapping = entityManager.getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getCollectionDescriptor(entityClass.getName() + ".searchGrams")
+            .getAttributeMapping();
+      return new GramTable(mapping.getSeparateCollectionTable(), column(mapping.getKeyDescriptor().getKeyPart()),
+            column(mapping.getElementDescriptor()));
+   }
+
+   private static String column(ModelPart part)
+   {
+      List<String> columns = new ArrayList<>(1);
+      part.forEachSelectable((index, selectable) -> columns.add(selectable.getSelectionExpression()));
+      return columns.getFirst();
+   }
+
+   /**
+    * N-gram collection table of an entity type.
+    */
+   @Value
+   private static class GramTable
+   {
+      private String table;
+      private String keyColumn;
+      private String gramColumn;
+
+      /**
+       * Replaces the stored n-grams of a row with native statements.
+       */
+      void replace(EntityManager entityManager, UUID uuid, Set<String> grams)
+      {
+         // the primary key is stored as CHAR
+         entityManager.createNativeQuery("DELETE FROM " + table + " WHERE " + keyColumn + " = ?1")
+               .setParameter(1, uuid.toString())
+               .executeUpdate();
+         if (grams.isEmpty())
+         {
+            return;
+         }
+
+         // one multi-row insert per row, the key is the first parameter
+         List<String> values = new ArrayList<>(grams);
+         Query insert = entityManager.createNativeQuery("INSERT INTO " + table + " (" + keyColumn + ", " + gramColumn
+               + ") VALUES " + IntStream.range(0, values.size())
+               .mapToObj(i -> "(?1, ?" + (i + 2) + ")")
+               .collect(Collectors.joining(", ")));
+         insert.setParameter(1, uuid.toString());
+         for (int i = 0; i < values.size(); i++)
+         {
+            insert.setParameter(i + 2, values.get(i));
+         }
+         insert.executeUpdate();
+      }
+   }
+}
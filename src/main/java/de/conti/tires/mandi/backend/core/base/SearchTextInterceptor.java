@@ -0,0 +1,29 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import org.hibernate.Interceptor;
+
+import java.util.Iterator;
+
+
+/**
+ * Session factory wide Hibernate {@link Interceptor} maintaining the search text of modified
+ * {@link AuditBaseEntity}s (see {@link AuditBaseEntity#updateSearchText()}).
+ * <p>
+ * {@link #preFlush(Iterator)} runs before Hibernate starts to flush, so the n-gram collection can still be loaded and
+ * changed - unlike in a {@code @PreUpdate} callback. Registered with the
+ * {@code hibernate.session_factory.interceptor} property.
+ */
+public class SearchTextInterceptor implements Interceptor
+{
+   @Override
+   public void preFlush(Iterator<Object> entities)
+   {
+      while (entities.hasNext())
+      {
+         if (entities.next() instanceof AuditBaseEntity entity)
+         {
+            entity.updateSearchText();
+         }
+      }
+   }
+}
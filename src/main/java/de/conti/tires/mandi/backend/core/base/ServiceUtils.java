@@ -3,14 +3,18 @@ package de.conti.tires.mandi.backend.core.base;
 import de.conti.tires.mandi.backend.core.exception.ApiException;
 import de.conti.tires.mandi.backend.core.exception.InvalidReferenceException;
 import de.conti.tires.mandi.backend.core.exception.ValidationException;
+import de.conti.tires.mandi.backend.core.jfr.PatchEvent;
+import de.conti.tires.mandi.backend.core.jfr.ValidationEvent;
 import de.conti.tires.mandi.backend.core.validation.ValidationErrors;
+import de.conti.tires.mandi.backend.core.validation.ValidationItem;
 import de.conti.tires.mandi.backend.core.validation.Validator;
 import de.conti.tires.mandi.backend.util.ComplexFieldsModelMapper;
+import de.conti.tires.mandi.backend.util.HibernateUtils;
+import de.conti.tires.mandi.backend.util.PropertyAccessor;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.FlushModeType;
 import jakarta.persistence.TypedQuery;
-import jakarta.persistence.metamodel.Metamodel;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
@@ -18,9 +22,8 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.beanutils.BeanUtils;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.collections4.CollectionUtils;
+import org.hibernate.Hibernate;
 import org.modelmapper.MappingException;
 import org.springframework.security.access.AccessDeniedException;
 
@@ -40,8 +43,21 @@ public class ServiceUtils {
                                                                 E oldState, Validator<E> validator)
             throws InvalidReferenceException, AccessDeniedException, ValidationException {
 
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
         ValidationErrors errors = new ValidationErrors();
-        Optional.ofNullable(validator).ifPresent(validatr -> validatr.validate(entity, oldState, payload, errors));
+        try {
+            Optional.ofNullable(validator).ifPresent(validatr -> validatr.validate(entity, oldState, payload, errors));
+        } finally {
+            if (event.shouldCommit()) {
+                event.entityClass = HibernateUtils.unproxyClass(entity);
+                event.itemCount = 1;
+                event.payloadSize = payload.size();
+                event.create = create;
+                event.errorCount = errors.size();
+                event.commit();
+            }
+        }
 
         if (!errors.isEmpty()) {
             throw new ValidationException(errors);
@@ -55,6 +71,37 @@ public class ServiceUtils {
     }
 
 
+    /**
+     * Validates the entities of a bulk request with {@link Validator#validateAll(List)}, so checks like the unique
+     * queries are shared between the items. Each item's errors are written to its own {@link ValidationErrors}.
+     *
+     * @param items     entities to validate with their previous state, payload and error information
+     * @param create    entities are new ones (in difference to patching existing ones)
+     * @param validator validator to use, {@code null} for no validation
+     */
+    public static <E extends BaseEntity> void performBulkValidation(@NonNull List<ValidationItem<E>> items,
+                                                                    boolean create, Validator<E> validator) {
+        if (items.isEmpty() || validator == null) {
+            return;
+        }
+
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        try {
+            validator.validateAll(items);
+        } finally {
+            if (event.shouldCommit()) {
+                event.entityClass = HibernateUtils.unproxyClass(items.get(0).getEntity());
+                event.itemCount = items.size();
+                event.payloadSize = items.stream().mapToInt(item -> item.getData().size()).sum();
+                event.create = create;
+                event.errorCount = items.stream().mapToInt(item -> item.getErrors().size()).sum();
+                event.commit();
+            }
+        }
+    }
+
+
 //   public static<E extends BaseEntity> void notifyHandler (boolean create, E entity,
 //         Map<String, Object> payload, E oldState,
 //         DomainObjectEventHandler domainObjectEventHandler)
@@ -74,11 +121,17 @@ public class ServiceUtils {
 
 
     private static <E extends BaseEntity> Map<String, Object> extractProperties(@NonNull E oldState, @NonNull Set<String> properties) {
+        Map<String, PropertyAccessor> accessors = PropertyAccessor.forClass(HibernateUtils.unproxyClass(oldState));
         Map<String, Object> values = new HashMap<>(properties.size());
         for (String property : properties) {
+            PropertyAccessor accessor = accessors.get(property);
+            if (accessor == null) {
+                log.debug("Could not read unknown property {}", property);
+                continue;
+            }
             try {
-                values.put(property, PropertyUtils.getProperty(oldState, property));
-            } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+                values.put(property, accessor.get(oldState));
+            } catch (InvocationTargetException | NoSuchMethodException e) {
                 log.debug("Could not read property " + property, e);
             }
         }
@@ -101,8 +154,37 @@ public class ServiceUtils {
     public static <E extends BaseEntity> void performPatch(@NotEmpty Map<String, Object> payload, @NotNull E target,
                                                            EntityManagerFactory entityManagerFactory, EntityManager entityManager)
             throws InvalidReferenceException, ValidationException {
+        PatchEvent event = new PatchEvent();
+        event.begin();
+        try {
+            applyPatch(payload, target, entityManagerFactory, entityManager);
+        } catch (InvalidReferenceException e) {
+            if (event.isEnabled()) {
+                event.errorCount = e.toValidationErrors().size();
+            }
+            throw e;
+        } catch (ValidationException e) {
+            if (event.isEnabled()) {
+                event.errorCount = e.getErrors().size();
+            }
+            throw e;
+        } finally {
+            if (event.shouldCommit()) {
+                event.entityClass = HibernateUtils.unproxyClass(target);
+                event.payloadSize = payload.size();
+                event.commit();
+            }
+        }
+    }
+
+    private static <E extends BaseEntity> void applyPatch(Map<String, Object> payload, E target,
+                                                          EntityManagerFactory entityManagerFactory, EntityManager entityManager)
+            throws InvalidReferenceException, ValidationException {
+        EntityPatchPlan<E> plan = EntityPatchPlan.of(HibernateUtils.unproxyClass(target),
+                entityManagerFactory.getMetamodel());
+
         // map simple fields
-        mapSimpleFields(payload, target);
+        mapSimpleFields(payload, target, plan);
 
         // calculate single reference information
 
@@ -111,37 +193,30 @@ public class ServiceUtils {
 
         List<InvalidReferenceException.InvalidPropertyReference> invalidRefs = new ArrayList<>();
 
-        Metamodel metamodel = entityManagerFactory.getMetamodel();
-        metamodel.entity(target.getClass()).getAttributes().stream()
-                .filter(
-                        attribute -> BaseEntity.class.isAssignableFrom(attribute.getJavaType()) && !attribute.isCollection()
-                                && payload.containsKey(attribute.getName()))
-                .forEach(attribute ->
-                {
-                    String property = attribute.getName();
-
-                    Object uuidObject = payload.get(property);
-                    if (uuidObject == null) {
-                        propertiesToNull.add(property);
-                    } else {
-                        try {
-                            UUID uuid = UUID.fromString((String) uuidObject);
-
-                            Class<? extends BaseEntity> type = (Class<? extends BaseEntity>) attribute.getJavaType();
-                            EntityUUIDs uuids = entityUuids.get(type);
-                            if (uuids == null) {
-                                uuids = new EntityUUIDs(metamodel.entity(type).getName(), type);
-                                entityUuids.put(type, uuids);
-                            }
-
-                            uuids.getUuids().add(new PropertyUuid(property, uuid));
-                        } catch (ClassCastException | IllegalArgumentException e) {
-                            log.trace("found invalid single ref in request", e);
-                            invalidRefs.add(new InvalidReferenceException.InvalidPropertyReference(property,
-                                    uuidObject.toString()));
-                        }
-                    }
-                });
+        for (EntityPatchPlan.SingleReference reference : plan.getSingleReferences().values()) {
+            String property = reference.getAccessor().getName();
+            if (!payload.containsKey(property)) {
+                continue;
+            }
+
+            Object uuidObject = payload.get(property);
+            if (uuidObject == null) {
+                propertiesToNull.add(property);
+            } else {
+                try {
+                    UUID uuid = UUID.fromString((String) uuidObject);
+
+                    EntityUUIDs uuids = entityUuids.computeIfAbsent(reference.getType(),
+                            type -> new EntityUUIDs(reference.getEntityName(), type));
+
+                    uuids.getUuids().add(new PropertyUuid(property, uuid));
+                } catch (ClassCastException | IllegalArgumentException e) {
+                    log.trace("found invalid single ref in request", e);
+                    invalidRefs.add(new InvalidReferenceException.InvalidPropertyReference(property,
+                            uuidObject.toString()));
+                }
+            }
+        }
 
         ResolvedEntityInformation resolvedUUIDs = resolveReferencedEntities(entityUuids.values(), entityManager);
         invalidRefs.addAll(resolvedUUIDs.getInvalidRefs());
@@ -152,28 +227,74 @@ public class ServiceUtils {
 
         // update single reference data
 
+        Map<String, EntityPatchPlan.SingleReference> references = plan.getSingleReferences();
         try {
             for (String prop : propertiesToNull) {
-                BeanUtils.setProperty(target, prop, null);
+                references.get(prop).getAccessor().set(target, null);
             }
             for (Map.Entry<String, Object> entry : resolvedUUIDs.getData().entrySet()) {
-                BeanUtils.setProperty(target, entry.getKey(), entry.getValue());
+                references.get(entry.getKey()).getAccessor().set(target, entry.getValue());
             }
-        } catch (IllegalAccessException | InvocationTargetException e) {
+        } catch (NoSuchMethodException | InvocationTargetException e) {
             log.error("setting ref property failed", e);
             throw new ApiException(e);
         }
     }
 
+    /**
+     * Initializes the lazy single references of the given entities with one IN query per referenced entity type
+     * instead of one select per proxy. The references of the loaded entities are resolved the same way, up to
+     * {@code depth} levels (e.g. the audit users of a referenced lab user).
+     *
+     * @param entities      entities of one type to preload the references of
+     * @param entityManager entity manager the entities are attached to
+     * @param depth         number of reference levels to resolve
+     */
+    public static void preloadReferences(@NonNull Collection<? extends BaseEntity> entities,
+                                         @NonNull EntityManager entityManager, int depth) {
+        Collection<? extends BaseEntity> current = entities;
+        for (int level = 0; level < depth && !current.isEmpty(); level++) {
+            Map<Class<? extends BaseEntity>, Set<UUID>> uuids = new HashMap<>();
+            Map<Class<? extends BaseEntity>, String> entityNames = new HashMap<>();
+
+            for (BaseEntity entity : current) {
+                EntityPatchPlan<? extends BaseEntity> plan = EntityPatchPlan.of(HibernateUtils.unproxyClass(entity),
+                        entityManager.getMetamodel());
+                for (EntityPatchPlan.SingleReference reference : plan.getSingleReferences().values()) {
+                    Object value;
+                    try {
+                        value = reference.getAccessor().get(entity);
+                    } catch (NoSuchMethodException | InvocationTargetException e) {
+                        throw new ApiException(e);
+                    }
+                    if (value instanceof BaseEntity referenced && !Hibernate.isInitialized(referenced)) {
+                        uuids.computeIfAbsent(reference.getType(), type -> new HashSet<>())
+                                .add(HibernateUtils.getId(referenced));
+                        entityNames.put(reference.getType(), reference.getEntityName());
+                    }
+                }
+            }
+
+            List<BaseEntity> loaded = new ArrayList<>();
+            uuids.forEach((type, ids) -> loaded.addAll(entityManager
+                    .createQuery("select e from " + entityNames.get(type) + " e where e.uuid in (:uuids)", type)
+                    .setParameter("uuids", ids)
+                    .getResultList()));
+            current = loaded;
+        }
+    }
+
     /**
      * Maps all 'simple' fields (no {@link UuidIdentifiable} references) from the payload to the entity.
      *
      * @param payload patch/create map
      * @param target  target entity
+     * @param plan    precompiled property access of the target's class
      * @throws ValidationException in case of a type error
      */
     @SuppressWarnings("squid:S135") // "Fail early" like continue is acceptable here
-    private static <E extends BaseEntity> void mapSimpleFields(@NonNull Map<String, Object> payload, @NonNull E target) throws ValidationException {
+    private static <E extends BaseEntity> void mapSimpleFields(@NonNull Map<String, Object> payload, @NonNull E target,
+                                                               @NonNull EntityPatchPlan<E> plan) throws ValidationException {
         ComplexFieldsModelMapper mapper = new ComplexFieldsModelMapper(target);
 
         ValidationErrors typeErrors = new ValidationErrors();
@@ -194,20 +315,15 @@ public class ServiceUtils {
 
             boolean error = false;
 
-            Class<?> propertyType;
-
-            try {
-                propertyType = PropertyUtils.getPropertyType(target, property);
-            } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                log.trace("Could not access field " + property + " - ignoring.", e);
-                propertyType = null;
-            }
-
             // skip not accessible properties and references
-            if (propertyType == null || UuidIdentifiable.class.isAssignableFrom(propertyType)) {
+            PropertyAccessor accessor = plan.getSimpleProperty(property);
+            if (accessor == null) {
+                log.trace("Could not access field {} - ignoring.", property);
                 continue;
             }
 
+            Class<?> propertyType = accessor.getType();
+
             // primitive not null validation
             if (propertyType.isPrimitive() && value == null) {
                 typeErrors.addFieldError(property, "error.validation.required");
@@ -220,11 +336,11 @@ public class ServiceUtils {
             else {
                 try {
                     Object destValue = (value == null) ? null : mapper.map(value, propertyType);
-                    PropertyUtils.setProperty(target, property, destValue);
+                    accessor.set(target, destValue);
                 } catch (MappingException me) {
                     log.trace("mapping failed for " + property, me);
                     error = true;
-                } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+                } catch (InvocationTargetException | NoSuchMethodException e) {
                     log.warn("could not write field " + property + " - ignoring", e);
                 }
             }
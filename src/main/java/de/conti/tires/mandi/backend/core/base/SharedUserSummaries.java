@@ -0,0 +1,50 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.user.projection.UserSummary;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Replaces equal user transfer objects of one converted page by a single instance per user - the audit users as well
+ * as nested user DTOs like a laboratory's lab user and their audit users.
+ */
+public class SharedUserSummaries
+{
+   private final Map<Object, Object> instances = new HashMap<>();
+
+   /**
+    * @param summary summary to share - may be {@code null}
+    * @return the first equal summary of the page
+    */
+   public UserSummary share(UserSummary summary)
+   {
+      return summary == null ? null : (UserSummary) instances.computeIfAbsent(summary.getUuid(), uuid -> summary);
+   }
+
+   /**
+    * Shares a nested DTO by its class and UUID. The summaries of the first instance are shared in turn, DTOs without
+    * UUID are never replaced.
+    *
+    * @param dto nested DTO to share - may be {@code null}
+    * @param <T> type of the DTO
+    * @return the first instance of the page with the DTO's class and UUID
+    */
+   @SuppressWarnings("unchecked")
+   public <T extends AuditBaseDTO> T share(T dto)
+   {
+      if (dto == null)
+      {
+         return null;
+      }
+      Object shared = dto.getUuid() == null ? null : instances.putIfAbsent(List.of(dto.getClass(), dto.getUuid()), dto);
+      if (shared != null)
+      {
+         return (T) shared;
+      }
+      dto.shareUserSummaries(this);
+      return dto;
+   }
+}
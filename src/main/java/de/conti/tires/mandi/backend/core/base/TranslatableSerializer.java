@@ -3,8 +3,7 @@ package de.conti.tires.mandi.backend.core.base;
 import de.conti.tires.mandi.backend.core.validation.Message;
 import de.conti.tires.mandi.container.util.StaticContextAccessor;
 import lombok.NoArgsConstructor;
-import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
+import lombok.Value;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonGenerator;
 import tools.jackson.databind.BeanDescription;
@@ -13,7 +12,13 @@ import tools.jackson.databind.SerializationContext;
 import tools.jackson.databind.ValueSerializer;
 import tools.jackson.databind.introspect.BeanPropertyDefinition;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A custom serializer for objects implementing the {@link Translatable} interface,
@@ -33,18 +38,20 @@ import java.lang.reflect.Method;
 @NoArgsConstructor
 public class TranslatableSerializer extends ValueSerializer<Translatable> {
 
+    /**
+     * Serialized properties per class, introspected once.
+     */
+    private static final Map<Class<?>, List<Property>> PROPERTIES = new ConcurrentHashMap<>();
+
     private String buildMessage(Translatable message) {
-        MessageSource ms = StaticContextAccessor.getBean(MessageSource.class);
-        String key = message.getKey();
-        return ms == null ? key :
-                ms.getMessage(key, message.getParameters(), key, LocaleContextHolder.getLocale());
+        MessageFormatCache cache = StaticContextAccessor.getBean(MessageFormatCache.class);
+        return cache == null ? message.getKey() : cache.translate(message);
     }
 
     @Override
     public void serialize(Translatable value, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
-        // 1. Manually introspect the class to avoid calling Jackson's loop-prone serializer lookups
-        JavaType javaType = ctxt.constructType(value.getClass());
-        BeanDescription beanDesc = ctxt.introspectBeanDescription(javaType);
+        // 1. Manually introspect the class (once) to avoid calling Jackson's loop-prone serializer lookups
+        List<Property> properties = PROPERTIES.computeIfAbsent(value.getClass(), type -> introspect(type, ctxt));
 
         gen.writeStartObject();
 
@@ -55,18 +62,17 @@ public class TranslatableSerializer extends ValueSerializer<Translatable> {
 
         // 3. Manually iterate and write all discovered properties (getters/fields)
         // This bypasses the need for BeanPropertyWriter and breaks the infinite loop.
-        for (BeanPropertyDefinition prop : beanDesc.findProperties()) {
+        for (Property prop : properties) {
             try {
-                if (prop.hasGetter()) {
-                    Method getter = prop.getGetter().getAnnotated();
-                    Object val = getter.invoke(value);
-                    if (val != null) {
-                        gen.writeName(prop.getName());
-                        // Delegate to Jackson only for the field's value, not the whole object
-                        ctxt.findValueSerializer(val.getClass()).serialize(val, gen, ctxt);
-                    }
+                Object val = prop.getGetter().invoke(value);
+                if (val != null) {
+                    gen.writeName(prop.getName());
+                    // Delegate to Jackson only for the field's value, not the whole object
+                    ctxt.findValueSerializer(val.getClass()).serialize(val, gen, ctxt);
                 }
-            } catch (Exception e) {
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
                 // Skip properties that can't be accessed to keep JSON valid
             }
         }
@@ -79,4 +85,32 @@ public class TranslatableSerializer extends ValueSerializer<Translatable> {
 
         gen.writeEndObject();
     }
-}
\ No newline at end of file
+
+    private static List<Property> introspect(Class<?> type, SerializationContext ctxt) {
+        JavaType javaType = ctxt.constructType(type);
+        BeanDescription beanDesc = ctxt.introspectBeanDescription(javaType);
+
+        List<Property> properties = new ArrayList<>();
+        for (BeanPropertyDefinition prop : beanDesc.findProperties()) {
+            if (!prop.hasGetter()) {
+                continue;
+            }
+            try {
+                Method getter = prop.getGetter().getAnnotated();
+                properties.add(new Property(prop.getName(), MethodHandles.publicLookup().unreflect(getter)));
+            } catch (IllegalAccessException e) {
+                // Skip properties that can't be accessed to keep JSON valid
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Serialized property with its getter.
+     */
+    @Value
+    private static class Property {
+        private String name;
+        private MethodHandle getter;
+    }
+}
@@ -0,0 +1,467 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.payload.Suggestion;
+import de.conti.tires.mandi.backend.util.HibernateUtils;
+import de.conti.tires.mandi.backend.util.PropertyAccessor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+
+/**
+ * In-memory typeahead index over the {@link SearchField}s of entities.
+ * <p>
+ * Holds one n-gram index (bigrams and trigrams of the normalized {@link SearchText}) per entity class. An index is
+ * loaded from the database on its first query and kept up to date by the {@link SearchIndexListener} after each
+ * committed write, so suggestions are answered without touching the database. Writes committed while an index is
+ * loading are buffered and replayed on the loaded rows, concurrent queries wait for the load.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class TypeaheadIndex
+{
+   private final EntityManager entityManager;
+
+   private final Map<Class<?>, EntityIndex> indexes = new ConcurrentHashMap<>();
+
+   /**
+    * Returns the best matching entities of the given type: entities starting with the query first, followed by
+    * entities with a word starting with it, followed by any other entity containing it - each ordered by label.
+    *
+    * @param entityClass entity type to search
+    * @param query       search text (case insensitive) of at least two characters
+    * @param limit       maximal number of suggestions
+    * @return suggestions, empty for shorter queries or if the entity type declares no {@link SearchField}s
+    */
+   public List<Suggestion> suggest(@NonNull Class<?> entityClass, @NonNull String query, int limit)
+   {
+      String normalized = SearchText.normalize(query.trim());
+      // a single character has no gram and would scan all documents
+      if (normalized.length() < 2 || limit <= 0 || SearchText.fields(entityClass).isEmpty())
+      {
+         return Collections.emptyList();
+      }
+      return index(entityClass).suggest(normalized, limit);
+   }
+
+   /**
+    * Updates the entry of the given entity once the current transaction is committed (immediately if there is no
+    * transaction). Does nothing if the index of the entity type was not queried yet.
+    *
+    * @param entity created or modified entity
+    */
+   public void update(@NonNull BaseEntity entity)
+   {
+      update(Collections.singletonList(entity));
+   }
+
+   /**
+    * Updates the entries of the given entities once the current transaction is committed (immediately if there is
+    * no transaction), so a rolled back write never shows up in suggestions. Labels are taken now, the entities may
+    * be detached or cleared before the commit. Types whose index was not queried yet are skipped.
+    *
+    * @param entities created or modified entities
+    */
+   public void update(@NonNull Collection<? extends BaseEntity> entities)
+   {
+      List<Entry> entries = new ArrayList<>(entities.size());
+      for (BaseEntity entity : entities)
+      {
+         Class<?> entityClass = HibernateUtils.unproxyClass(entity);
+         if (!SearchText.fields(entityClass).isEmpty())
+         {
+            entries.add(new Entry(entityClass, entity.getUuid(), SearchText.label(entity)));
+         }
+      }
+      apply(entries);
+   }
+
+   /**
+    * Removes the entry of the given entity once the current transaction is committed (immediately if there is no
+    * transaction).
+    *
+    * @param entity deleted entity
+    */
+   public void remove(@NonNull BaseEntity entity)
+   {
+      Class<?> entityClass = HibernateUtils.unproxyClass(entity);
+      if (!SearchText.fields(entityClass).isEmpty())
+      {
+         apply(Collections.singletonList(new Entry(entityClass, entity.getUuid(), null)));
+      }
+   }
+
+   /**
+    * Collects the entries in one synchronization per transaction - entities are reported one by one on flush.
+    */
+   private void apply(List<Entry> entries)
+   {
+      if (entries.isEmpty())
+      {
+         return;
+      }
+      if (!TransactionSynchronizationManager.isSynchronizationActive())
+      {
+         put(entries);
+         return;
+      }
+
+      PendingEntries pending = null;
+      for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations())
+      {
+         if (synchronization instanceof PendingEntries candidate && candidate.isOf(this))
+         {
+            pending = candidate;
+            break;
+         }
+      }
+      if (pending == null)
+      {
+         pending = new PendingEntries();
+         TransactionSynchronizationManager.registerSynchronization(pending);
+      }
+      pending.entries.addAll(entries);
+   }
+
+   private void put(List<Entry> entries)
+   {
+      for (Entry entry : entries)
+      {
+         EntityIndex index = indexes.get(entry.getEntityClass());
+         if (index != null)
+         {
+            index.apply(entry);
+         }
+      }
+   }
+
+   /**
+    * Returns the loaded index of the given entity type. The first caller registers an empty index - buffering the
+    * writes from then on - and loads it outside of the map, all others wait for the load.
+    */
+   private EntityIndex index(Class<?> entityClass)
+   {
+      EntityIndex index = indexes.get(entityClass);
+      if (index == null)
+      {
+         EntityIndex created = new EntityIndex();
+         index = indexes.putIfAbsent(entityClass, created);
+         if (index == null)
+         {
+            load(entityClass, created);
+            return created;
+         }
+      }
+      index.awaitLoaded();
+      return index;
+   }
+
+   private void load(Class<?> entityClass, EntityIndex index)
+   {
+      long start = System.currentTimeMillis();
+      Map<UUID, String> labels = new HashMap<>();
+      try
+      {
+         List<PropertyAccessor> fields = SearchText.fields(entityClass);
+         String jpql = "SELECT A.uuid, " + fields.stream()
+               .map(field -> "A." + field.getName())
+               .collect(Collectors.joining(", "))
+               + " FROM " + entityManager.getMetamodel().entity(entityClass).getName() + " A";
+
+         for (Tuple row : entityManager.createQuery(jpql, Tuple.class).getResultList())
+         {
+            Object[] values = new Object[fields.size()];
+            for (int i = 0; i < values.length; i++)
+            {
+               values[i] = row.get(i + 1);
+            }
+            labels.put(row.get(0, UUID.class), SearchText.join(values));
+         }
+      }
+      catch (RuntimeException | Error e)
+      {
+         // the next query loads again
+         indexes.remove(entityClass, index);
+         index.fail(e);
+         throw e;
+      }
+
+      int replayed = index.complete(labels);
+      log.info("typeahead index of {} loaded with {} entries and {} replayed writes in {} ms",
+            entityClass.getSimpleName(), labels.size(), replayed, System.currentTimeMillis() - start);
+   }
+
+   /**
+    * Splits a normalized text into its bigrams and trigrams.
+    */
+   private static Set<String> grams(String text)
+   {
+      Set<String> result = grams(text, 2);
+      result.addAll(grams(text, 3));
+      return result;
+   }
+
+   private static Set<String> grams(String text, int length)
+   {
+      Set<String> result = new HashSet<>();
+      for (int i = 0; i + length <= text.length(); i++)
+      {
+         result.add(text.substring(i, i + length));
+      }
+      return result;
+   }
+
+   /**
+    * N-gram index of a single entity type.
+    */
+   private static final class EntityIndex
+   {
+      private final ReadWriteLock lock = new ReentrantReadWriteLock();
+      private final Map<UUID, Document> documents = new HashMap<>();
+      private final Map<String, Set<UUID>> postings = new HashMap<>();
+      private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+      /**
+       * Writes committed while loading - {@code null} once loaded.
+       */
+      private List<Entry> buffered = new ArrayList<>();
+
+      /**
+       * Applies a committed write, or buffers it while the index is loading.
+       */
+      void apply(Entry entry)
+      {
+         lock.writeLock().lock();
+         try
+         {
+            if (buffered != null)
+            {
+               buffered.add(entry);
+            }
+            else
+            {
+               write(entry.getUuid(), entry.getLabel());
+            }
+         }
+         finally
+         {
+            lock.writeLock().unlock();
+         }
+      }
+
+      /**
+       * Indexes the loaded rows and replays the writes buffered meanwhile - they are at least as recent as the rows.
+       *
+       * @return number of replayed writes
+       */
+      int complete(Map<UUID, String> labels)
+      {
+         int replayed;
+         lock.writeLock().lock();
+         try
+         {
+            labels.forEach(this::write);
+            buffered.forEach(entry -> write(entry.getUuid(), entry.getLabel()));
+            replayed = buffered.size();
+            buffered = null;
+         }
+         finally
+         {
+            lock.writeLock().unlock();
+         }
+         loaded.complete(null);
+         return replayed;
+      }
+
+      void fail(Throwable e)
+      {
+         loaded.completeExceptionally(e);
+      }
+
+      /**
+       * Waits until the rows are loaded.
+       */
+      void awaitLoaded()
+      {
+         try
+         {
+            loaded.join();
+         }
+         catch (CompletionException e)
+         {
+            if (e.getCause() instanceof Error error)
+            {
+               throw error;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+         }
+      }
+
+      /**
+       * Puts or - for a {@code null} label - removes a document; requires the write lock.
+       */
+      private void write(UUID uuid, String label)
+      {
+         if (label == null)
+         {
+            unindex(documents.remove(uuid));
+            return;
+         }
+
+         Document document = new Document(uuid, label, SearchText.normalize(label));
+         unindex(documents.put(uuid, document));
+         for (String gram : grams(document.getText()))
+         {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(uuid);
+         }
+      }
+
+      /**
+       * Drops the postings of a replaced or removed document - requires the write lock.
+       */
+      private void unindex(Document previous)
+      {
+         if (previous == null)
+         {
+            return;
+         }
+         for (String gram : grams(previous.getText()))
+         {
+            Set<UUID> posting = postings.get(gram);
+            posting.remove(previous.getUuid());
+            if (posting.isEmpty())
+            {
+               postings.remove(gram);
+            }
+         }
+      }
+
+      List<Suggestion> suggest(String query, int limit)
+      {
+         Comparator<Match> order = Comparator.comparingInt(Match::getRank)
+               .thenComparing(match -> match.getDocument().getLabel());
+         // worst match on top to be dropped first
+         PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, order.reversed());
+
+         lock.readLock().lock();
+         try
+         {
+            for (UUID uuid : candidates(query))
+            {
+               Document document = documents.get(uuid);
+               int position = document.getText().indexOf(query);
+               if (position < 0)
+               {
+                  continue;
+               }
+
+               best.add(new Match(document, position == 0 ? 0 : (document.getText().contains(" " + query) ? 1 : 2)));
+               if (best.size() > limit)
+               {
+                  best.poll();
+               }
+            }
+         }
+         finally
+         {
+            lock.readLock().unlock();
+         }
+
+         return best.stream()
+               .sorted(order)
+               .map(match -> new Suggestion(match.getDocument().getUuid(), match.getDocument().getLabel()))
+               .collect(Collectors.toList());
+      }
+
+      /**
+       * @param query normalized query of at least two characters
+       * @return UUIDs of all documents possibly containing the query - must be verified by the caller
+       */
+      private Collection<UUID> candidates(String query)
+      {
+         // the posting of the rarest gram is sufficient as the caller verifies the candidates anyway
+         Set<UUID> smallest = null;
+         for (String gram : grams(query, Math.min(query.length(), 3)))
+         {
+            Set<UUID> posting = postings.get(gram);
+            if (posting == null)
+            {
+               return Collections.emptySet();
+            }
+            if (smallest == null || posting.size() < smallest.size())
+            {
+               smallest = posting;
+            }
+         }
+         return smallest;
+      }
+   }
+
+   /**
+    * Indexed entity.
+    */
+   @Value
+   private static class Document
+   {
+      private UUID uuid;
+      private String label;
+      private String text;
+   }
+
+   /**
+    * Pending update of an index entry.
+    */
+   @Value
+   private static class Entry
+   {
+      private Class<?> entityClass;
+      private UUID uuid;
+      /**
+       * {@code null} to remove the entry.
+       */
+      private String label;
+   }
+
+   /**
+    * Entries of the current transaction, applied after its commit.
+    */
+   private final class PendingEntries implements TransactionSynchronization
+   {
+      private final List<Entry> entries = new ArrayList<>();
+
+      boolean isOf(TypeaheadIndex index)
+      {
+         return TypeaheadIndex.this == index;
+      }
+
+      @Override
+      public void afterCommit()
+      {
+         put(entries);
+      }
+   }
+
+   /**
+    * Candidate of a query with its rank (lower is better).
+    */
+   @Value
+   private static class Match
+   {
+      private Document document;
+      private int rank;
+   }
+}
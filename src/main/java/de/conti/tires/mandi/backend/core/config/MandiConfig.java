@@ -7,6 +7,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
+
 
 /**
  * Gomes Config DTO extracted from properties.
@@ -23,4 +25,45 @@ public class MandiConfig
     */
    private boolean exposeApiMessageDtoStacktrace = false;
 
+   /**
+    * Number of entities written by bulk operations before the persistence context is flushed.
+    * Should match {@code hibernate.jdbc.batch_size}.
+    */
+   private int bulkFlushSize = 50;
+
+   /**
+    * Time to live of cached search counts in milliseconds.
+    */
+   private long searchCountCacheTtlMs = 10000;
+
+   /**
+    * Maximal number of cached search counts.
+    */
+   private long searchCountCacheSize = 1000;
+
+   /**
+    * Load the seed data (roles, users and laboratories) on startup. Can be switched off per profile.
+    */
+   private boolean seedEnabled = true;
+
+   /**
+    * Maximal number of threads hashing seed user passwords in parallel.
+    */
+   private int seedHashThreads = 4;
+
+   /**
+    * Base name of the message bundles, see {@code spring.messages.basename}.
+    */
+   private String messageBasename = "messages";
+
+   /**
+    * Locales the message formats are compiled for on startup (language tags).
+    */
+   private List<String> messageLocales = List.of("en-US", "de-DE");
+
+   /**
+    * Maximal number of cached message formats (message code and locale).
+    */
+   private long messageFormatCacheSize = 10000;
+
 }
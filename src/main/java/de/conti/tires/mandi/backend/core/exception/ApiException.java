@@ -1,15 +1,26 @@
 package de.conti.tires.mandi.backend.core.exception;
 
+import de.conti.tires.mandi.backend.core.base.MessageFormatCache;
 import de.conti.tires.mandi.container.util.StaticContextAccessor;
 import lombok.Getter;
-import org.springframework.context.MessageSource;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.context.i18n.LocaleContextHolder;
 
 
 /**
  * Root class of all REST API exceptions.
+ * <p>
+ * Exceptions signalling expected outcomes (e.g. validation errors) are created lightweight: without suppression and
+ * without stack trace, unless stack traces are exposed ({@link #setStackTraceEnabled(boolean)}) or debug logging of
+ * this class is enabled.
  */
+@Log4j2
 public class ApiException extends RuntimeException {
+    /**
+     * Capture the stack trace of lightweight exceptions.
+     */
+    private static volatile boolean stackTraceEnabled = false;
+
     @Getter
     private final String i18nKey;
 
@@ -38,13 +49,42 @@ public class ApiException extends RuntimeException {
         this.params = params;
     }
 
+    /**
+     * Constructs a new exception with key and message parameter.
+     *
+     * @param lightweight {@code true} for an exception without suppression and (see {@link #isStackTraceEnabled()})
+     *                    without stack trace - can not get a cause
+     * @param key         lookup key
+     * @param params      parameter used in the message
+     */
+    protected ApiException(boolean lightweight, String key, Object... params) {
+        super(null, null, !lightweight, !lightweight || isStackTraceEnabled());
+        this.i18nKey = key;
+        this.params = params;
+    }
+
+    /**
+     * Enables capturing the stack trace of lightweight exceptions.
+     *
+     * @param enabled {@code true} if the stack traces are exposed
+     */
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+
+    /**
+     * @return {@code true} if lightweight exceptions capture their stack trace
+     */
+    public static boolean isStackTraceEnabled() {
+        return stackTraceEnabled || log.isDebugEnabled();
+    }
+
     @Override
     public String getMessage() {
-        MessageSource messageSource = StaticContextAccessor.getBean(MessageSource.class);
+        MessageFormatCache cache = StaticContextAccessor.getBean(MessageFormatCache.class);
 
-        if (messageSource != null) {
-            String message = messageSource.getMessage(this.i18nKey, this.params, this.i18nKey, LocaleContextHolder.getLocale());
-            return messageSource.getMessage(this.i18nKey, this.params, this.i18nKey, LocaleContextHolder.getLocale());
+        if (cache != null) {
+            return cache.translate(this.i18nKey, this.params, LocaleContextHolder.getLocale());
         } else {
             return this.i18nKey;
         }
@@ -1,12 +1,11 @@
 package de.conti.tires.mandi.backend.core.exception;
 
+import de.conti.tires.mandi.backend.core.base.MessageFormatCache;
 import de.conti.tires.mandi.backend.core.base.Translatable;
 import de.conti.tires.mandi.backend.core.validation.*;
 import de.conti.tires.mandi.container.util.StaticContextAccessor;
 import lombok.Getter;
 import lombok.NonNull;
-import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -127,9 +126,7 @@ public class ApiMessageDto {
     }
 
     private String buildMessage(Translatable message) {
-        MessageSource ms = StaticContextAccessor.getBean(MessageSource.class);
-        String key = message.getKey();
-        return ms == null ? key :
-                ms.getMessage(key, message.getParameters(), key, LocaleContextHolder.getLocale());
+        MessageFormatCache cache = StaticContextAccessor.getBean(MessageFormatCache.class);
+        return cache == null ? message.getKey() : cache.translate(message);
     }
 }
@@ -1,7 +1,7 @@
 package de.conti.tires.mandi.backend.core.exception;
 
 /**
- * Sign in failure.
+ * Sign in failure. Lightweight, see {@link ApiException#isStackTraceEnabled()}.
  */
 public class BadCredentialsException extends BadRequestException
 {
@@ -10,6 +10,6 @@ public class BadCredentialsException extends BadRequestException
     */
    public BadCredentialsException()
    {
-      super("error.BadCredentials");
+      super(true, "error.BadCredentials");
    }
 }
@@ -37,4 +37,17 @@ public class BadRequestException extends ApiException
    {
       super(message, parameters);
    }
+
+   /**
+    * Delegating to the lightweight parent constructor.
+    *
+    * @param lightweight {@code true} for an exception without suppression and stack trace
+    * @param message     error message key
+    * @param parameters  optional message parameters
+    * @see ApiException#isStackTraceEnabled()
+    */
+   protected BadRequestException(boolean lightweight, String message, Object... parameters)
+   {
+      super(lightweight, message, parameters);
+   }
 }
@@ -0,0 +1,31 @@
+package de.conti.tires.mandi.backend.core.exception;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Message dto to transfer per item messages of a bulk request to the frontend. The global message summarizes the
+ * number of failed items.
+ */
+public class BulkApiMessageDto extends ApiMessageDto {
+    /**
+     * Messages per request index - only failed items are contained.
+     */
+    @Getter
+    private final Map<Integer, ApiMessageDto> items = new TreeMap<>();
+
+    /**
+     * Creates a new message dto from the errors per item of the given exception.
+     *
+     * @param exception         rejected bulk operation
+     * @param includeStacktrace flag to indicate, if the global message should contain the stacktrace
+     */
+    public BulkApiMessageDto(@NonNull BulkValidationException exception, boolean includeStacktrace) {
+        super(exception, includeStacktrace);
+        exception.getItemErrors().forEach((index, errors) -> items.put(index, new ApiMessageDto(errors)));
+    }
+}
@@ -0,0 +1,39 @@
+package de.conti.tires.mandi.backend.core.exception;
+
+import de.conti.tires.mandi.backend.core.validation.ValidationErrors;
+import lombok.NonNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * One or more items of a bulk request are invalid. The whole bulk operation has been rejected.
+ */
+public class BulkValidationException extends BadRequestException
+{
+   /**
+    * Error information per item (request index to errors).
+    */
+   private final Map<Integer, ValidationErrors> itemErrors;
+
+   /**
+    * Creates a new instance.
+    *
+    * @param itemErrors errors per request index - must not be empty
+    */
+   public BulkValidationException(@NonNull Map<Integer, ValidationErrors> itemErrors)
+   {
+      super("error.BulkValidationException", itemErrors.size());
+      this.itemErrors = Collections.unmodifiableMap(new TreeMap<>(itemErrors));
+   }
+
+   /**
+    * @return errors per request index, sorted by index
+    */
+   public Map<Integer, ValidationErrors> getItemErrors()
+   {
+      return itemErrors;
+   }
+}
@@ -7,6 +7,7 @@ import org.springframework.http.HttpStatus;
 
 /**
  * An exception providing translation message information and the HTTP status code to send.
+ * Lightweight, see {@link ApiException#isStackTraceEnabled()}.
  */
 public class GenericException extends ApiException
 {
@@ -33,7 +34,7 @@ public class GenericException extends ApiException
     */
    public GenericException(int statusCode, @NonNull String key, Object... params)
    {
-      super(key, params);
+      super(true, key, params);
       this.statusCode = statusCode;
    }
 }
@@ -1,17 +1,21 @@
 package de.conti.tires.mandi.backend.core.exception;
 
+import de.conti.tires.mandi.backend.core.validation.ValidationErrors;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 
 /**
  * A request using one or more invalid reference UUIDs occurred.
+ * Lightweight, see {@link ApiException#isStackTraceEnabled()}.
  */
 public class InvalidReferenceException extends ApiException
 {
@@ -31,7 +35,7 @@ public class InvalidReferenceException extends ApiException
     */
    public InvalidReferenceException(InvalidPropertyReference error)
    {
-      super("error.IllegalReferenceException");
+      super(true, "error.IllegalReferenceException");
       this.invalidCollectionReferences = null;
       this.invalidPropertyReferences = new HashSet<>();
       invalidPropertyReferences.add(error);
@@ -46,7 +50,7 @@ public class InvalidReferenceException extends ApiException
    public InvalidReferenceException(Collection<String> invalidCollectionReferences,
                                     Collection<InvalidPropertyReference> invalidPropertyReferences)
    {
-      super("error.IllegalReferenceException");
+      super(true, "error.IllegalReferenceException");
       this.invalidCollectionReferences =
             invalidCollectionReferences == null ? null : new HashSet<>(invalidCollectionReferences);
       this.invalidPropertyReferences =
@@ -69,6 +73,22 @@ public class InvalidReferenceException extends ApiException
       return invalidPropertyReferences;
    }
 
+   /**
+    * Transforms the invalid references to validation errors: a global error for collection references and
+    * field errors for single references.
+    *
+    * @return corresponding validation errors
+    */
+   public ValidationErrors toValidationErrors()
+   {
+      ValidationErrors errors = new ValidationErrors();
+      Optional.ofNullable(invalidCollectionReferences).ifPresent(
+            error -> errors.addGlobalError("error.invalidref.collection", StringUtils.join(error.toArray(), ", ")));
+      Optional.ofNullable(invalidPropertyReferences).ifPresent(error -> error
+            .forEach(err -> errors.addFieldError(err.getProperty(), "error.invalidref.single", err.getUuid())));
+      return errors;
+   }
+
    /**
     * Reference for single reference fields.
     */
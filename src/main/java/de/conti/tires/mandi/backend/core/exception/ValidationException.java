@@ -8,6 +8,7 @@ import java.util.Optional;
 
 /**
  * Request is invalid because of validation constraint violation.
+ * Lightweight, see {@link ApiException#isStackTraceEnabled()}.
  */
 public class ValidationException extends ApiException {
     /**
@@ -41,7 +42,7 @@ public class ValidationException extends ApiException {
      * @param errors causing errors
      */
     public ValidationException(ValidationErrors errors) {
-        super("error.ValidationException");
+        super(true, "error.ValidationException");
         this.errors = errors;
     }
 
@@ -0,0 +1,52 @@
+package de.conti.tires.mandi.backend.core.jfr;
+
+import jdk.jfr.*;
+
+
+/**
+ * Flight recorder event of a converter creating a projection from an entity or a projection query row.
+ */
+@Name("de.conti.tires.mandi.Conversion")
+@Label("Projection Conversion")
+@Category({ "Mandi", "CRUD" })
+@StackTrace(false)
+public class ConversionEvent extends Event
+{
+   @Label("Converter")
+   public Class<?> converter;
+
+   @Label("Source Class")
+   public Class<?> sourceClass;
+
+   /**
+    * Starts timing a conversion.
+    *
+    * @param converter   converting class
+    * @param sourceClass type converted from
+    * @return started event - to be passed to {@link #end(ConversionEvent)}
+    */
+   public static ConversionEvent start(Class<?> converter, Class<?> sourceClass)
+   {
+      ConversionEvent event = new ConversionEvent();
+      event.begin();
+      if (event.isEnabled())
+      {
+         event.converter = converter;
+         event.sourceClass = sourceClass;
+      }
+      return event;
+   }
+
+   /**
+    * Commits the given event if it is recorded.
+    *
+    * @param event event returned by {@link #start(Class, Class)}
+    */
+   public static void end(ConversionEvent event)
+   {
+      if (event.shouldCommit())
+      {
+         event.commit();
+      }
+   }
+}
@@ -0,0 +1,27 @@
+package de.conti.tires.mandi.backend.core.jfr;
+
+import de.conti.tires.mandi.backend.core.base.ServiceUtils;
+import jdk.jfr.*;
+
+
+/**
+ * Flight recorder event of {@link ServiceUtils#performPatch}: applying a payload to an entity including the
+ * resolution of its references.
+ */
+@Name("de.conti.tires.mandi.Patch")
+@Label("Entity Patch")
+@Category({ "Mandi", "CRUD" })
+@StackTrace(false)
+public class PatchEvent extends Event
+{
+   @Label("Entity Class")
+   public Class<?> entityClass;
+
+   @Label("Payload Size")
+   @Description("Number of properties sent")
+   public int payloadSize;
+
+   @Label("Error Count")
+   @Description("Number of invalid values and references")
+   public int errorCount;
+}
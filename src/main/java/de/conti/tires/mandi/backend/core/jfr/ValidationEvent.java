@@ -0,0 +1,35 @@
+package de.conti.tires.mandi.backend.core.jfr;
+
+import de.conti.tires.mandi.backend.core.base.ServiceUtils;
+import jdk.jfr.*;
+
+
+/**
+ * Flight recorder event of {@link ServiceUtils#performValidation} and {@link ServiceUtils#performBulkValidation}:
+ * validating an entity (or the entities of a bulk chunk) including the unique queries.
+ */
+@Name("de.conti.tires.mandi.Validation")
+@Label("Entity Validation")
+@Category({ "Mandi", "CRUD" })
+@StackTrace(false)
+public class ValidationEvent extends Event
+{
+   @Label("Entity Class")
+   public Class<?> entityClass;
+
+   @Label("Item Count")
+   @Description("Number of validated entities, 1 for single entity requests")
+   public int itemCount;
+
+   @Label("Payload Size")
+   @Description("Number of properties sent (over all items)")
+   public int payloadSize;
+
+   @Label("Create")
+   @Description("Validation of a new entity")
+   public boolean create;
+
+   @Label("Error Count")
+   @Description("Number of global and field errors (over all items)")
+   public int errorCount;
+}
@@ -0,0 +1,122 @@
+package de.conti.tires.mandi.backend.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Lock free, log-linear latency histogram (HdrHistogram style) with a fixed relative error.
+ * <p>
+ * Values (microseconds) below {@link #SUB_BUCKETS} are counted exactly, larger ones in {@link #SUB_BUCKETS} / 2
+ * linear sub buckets per power of two. Percentiles are reported as upper bound of their bucket, with a relative error
+ * below 2 / {@link #SUB_BUCKETS} (about 6%).
+ */
+public class LatencyHistogram
+{
+   /**
+    * Linear sub buckets per power of two (must be a power of two).
+    */
+   static final int SUB_BUCKETS = 32;
+
+   private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+   private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+   private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+   private final LongAdder count = new LongAdder();
+   private final LongAdder total = new LongAdder();
+   private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+   /**
+    * Records a single value.
+    *
+    * @param micros latency in microseconds, negative values are recorded as 0
+    */
+   public void record(long micros)
+   {
+      long value = Math.max(0, micros);
+      counts.incrementAndGet(index(value));
+      count.increment();
+      total.add(value);
+      max.accumulate(value);
+   }
+
+   /**
+    * @return number of recorded values
+    */
+   public long getCount()
+   {
+      return count.sum();
+   }
+
+   /**
+    * @return sum of all recorded values in microseconds
+    */
+   public long getTotal()
+   {
+      return total.sum();
+   }
+
+   /**
+    * @return maximal recorded value in microseconds
+    */
+   public long getMax()
+   {
+      return max.get();
+   }
+
+   /**
+    * Returns the value at the given percentile.
+    *
+    * @param percentile percentile between 0 and 100
+    * @return upper bound of the bucket containing the percentile in microseconds, 0 if nothing was recorded
+    */
+   public long getPercentile(double percentile)
+   {
+      long recorded = 0;
+      long[] snapshot = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; i++)
+      {
+         snapshot[i] = counts.get(i);
+         recorded += snapshot[i];
+      }
+      if (recorded == 0)
+      {
+         return 0;
+      }
+
+      long rank = Math.max(1, (long) Math.ceil(recorded * Math.min(100, Math.max(0, percentile)) / 100));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++)
+      {
+         seen += snapshot[i];
+         if (seen >= rank)
+         {
+            return Math.min(upperBound(i), getMax());
+         }
+      }
+      return getMax();
+   }
+
+   static int index(long value)
+   {
+      if (value < SUB_BUCKETS)
+      {
+         return (int) value;
+      }
+      int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+      int subBucket = (int) (value >>> magnitude) - SUB_BUCKETS / 2;
+      return magnitude * SUB_BUCKETS / 2 + SUB_BUCKETS / 2 + subBucket;
+   }
+
+   static long upperBound(int index)
+   {
+      if (index < SUB_BUCKETS)
+      {
+         return index;
+      }
+      int magnitude = (index - SUB_BUCKETS / 2) / (SUB_BUCKETS / 2);
+      int subBucket = (index - SUB_BUCKETS / 2) % (SUB_BUCKETS / 2) + SUB_BUCKETS / 2;
+      return ((long) (subBucket + 1) << magnitude) - 1;
+   }
+}
@@ -0,0 +1,37 @@
+package de.conti.tires.mandi.backend.core.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Exposes the latency statistics of the CRUD pipeline phases ({@link PhaseTimers}).
+ */
+@RestController
+@RequestMapping("${BASE_URL}/api/metrics")
+@RequiredArgsConstructor
+public class PhaseMetricsController
+{
+    private final PhaseTimers phaseTimers;
+
+    /**
+     * @return statistics per entity type and phase, times in microseconds
+     */
+    @GetMapping("/phases")
+    public List<PhaseStatistics> getPhases()
+    {
+        return phaseTimers.getStatistics();
+    }
+
+    /**
+     * Drops all recorded values, e.g. before a load test.
+     */
+    @DeleteMapping("/phases")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void resetPhases()
+    {
+        phaseTimers.reset();
+    }
+}
@@ -0,0 +1,39 @@
+package de.conti.tires.mandi.backend.core.metrics;
+
+import lombok.NonNull;
+import lombok.Value;
+
+
+/**
+ * Latency statistics of a single phase and entity type. All times in microseconds.
+ */
+@Value
+public class PhaseStatistics
+{
+   private String entity;
+   private String phase;
+   private long count;
+   private long mean;
+   private long p50;
+   private long p90;
+   private long p99;
+   private long p999;
+   private long max;
+
+   /**
+    * Creates the statistics of the given histogram.
+    *
+    * @param entity    entity type
+    * @param phase     phase name
+    * @param histogram recorded values
+    * @return statistics
+    */
+   public static PhaseStatistics of(@NonNull String entity, @NonNull String phase,
+         @NonNull LatencyHistogram histogram)
+   {
+      long count = histogram.getCount();
+      return new PhaseStatistics(entity, phase, count, count == 0 ? 0 : histogram.getTotal() / count,
+            histogram.getPercentile(50), histogram.getPercentile(90), histogram.getPercentile(99),
+            histogram.getPercentile(99.9), histogram.getMax());
+   }
+}
@@ -0,0 +1,140 @@
+package de.conti.tires.mandi.backend.core.metrics;
+
+import de.conti.tires.mandi.backend.core.base.AbstractBaseController;
+import lombok.NonNull;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+
+/**
+ * Latency histograms of the request phases of the generic CRUD pipeline ({@link AbstractBaseController}) per entity
+ * type.
+ * <p>
+ * Usage: {@code try (PhaseTimers.Timing timing = phaseTimers.start(entityClass, Phase.PATCH)) { ... }}
+ */
+@Component
+public class PhaseTimers
+{
+   /**
+    * Timed phases.
+    */
+   public enum Phase
+   {
+      /**
+       * Loading the entity by primary key.
+       */
+      LOAD,
+      /**
+       * Copying the previous state of a patched entity.
+       */
+      COPY,
+      /**
+       * Applying the payload including the resolution of references.
+       */
+      PATCH,
+      /**
+       * Validation including the unique queries.
+       */
+      VALIDATE,
+      /**
+       * Saving a single entity - including the flush of single writes.
+       */
+      SAVE,
+      /**
+       * Flushing a chunk of bulk writes.
+       */
+      FLUSH,
+      /**
+       * Conversion of a single entity to the projection.
+       */
+      CONVERT,
+      /**
+       * Conversion of a chunk of bulk writes to the projections.
+       */
+      BULK_CONVERT,
+      /**
+       * Page query including conversion.
+       */
+      QUERY,
+      /**
+       * Total count of a page.
+       */
+      COUNT
+   }
+
+   private final Map<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+   /**
+    * Starts timing a phase. The time is recorded when the returned timing is closed, whether the phase failed or not.
+    *
+    * @param entityClass entity type
+    * @param phase       timed phase
+    * @return running timing
+    */
+   public Timing start(@NonNull Class<?> entityClass, @NonNull Phase phase)
+   {
+      return new Timing(histograms.computeIfAbsent(new Key(entityClass.getSimpleName(), phase),
+            key -> new LatencyHistogram()), System.nanoTime());
+   }
+
+   /**
+    * @return statistics of all phases recorded so far, ordered by entity type and phase
+    */
+   public List<PhaseStatistics> getStatistics()
+   {
+      return histograms.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey(Comparator.comparing(Key::getEntity).thenComparing(Key::getPhase)))
+            .map(entry -> PhaseStatistics.of(entry.getKey().getEntity(), entry.getKey().getPhase().name(),
+                  entry.getValue()))
+            .collect(Collectors.toList());
+   }
+
+   /**
+    * Drops all recorded values.
+    */
+   public void reset()
+   {
+      histograms.clear();
+   }
+
+   /**
+    * Running timing of a single phase.
+    */
+   public static final class Timing implements AutoCloseable
+   {
+      private final LatencyHistogram histogram;
+      private final long start;
+
+      private Timing(LatencyHistogram histogram, long start)
+      {
+         this.histogram = histogram;
+         this.start = start;
+      }
+
+      /**
+       * Records the elapsed time.
+       */
+      @Override
+      public void close()
+      {
+         histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+      }
+   }
+
+   /**
+    * Histogram key.
+    */
+   @Value
+   private static class Key
+   {
+      private String entity;
+      private Phase phase;
+   }
+}
@@ -1,40 +1,45 @@
 package de.conti.tires.mandi.backend.core.validation;
 
 import de.conti.tires.mandi.backend.core.base.BaseEntity;
+import de.conti.tires.mandi.backend.util.PropertyAccessor;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.NonNull;
 import lombok.Value;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-import static org.apache.commons.beanutils.PropertyUtils.getProperty;
-import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.join;
 
 
 /**
  * Validator that uses annotations to validate fields of an entity object for null, length and unique restrictions.
- * The fields and the parent fields will be evaluated with {@link PropertyUtils} and {@link FieldUtils}.
+ * The fields and the parent fields will be evaluated with {@link FieldUtils} and read with cached
+ * {@link PropertyAccessor}s.
  * <p>
- * Supported annotations: {@link Entity}, {@link Table}, {@link Column}, {@link JoinColumn}, {@link NotNull}.
+ * Supported annotations: {@link Table}, {@link Column}, {@link JoinColumn}, {@link NotNull}.
  * <p>
  * Notes:
  * <ul>
- * <li> {@link Entity} annotation needs an name attribute </li>
  * <li> {@link Table} annotation is used for multiple field unique constraints</li>
  * <li> {@link NotNull} overrules {@link Column#nullable()} restriction</li>
  * <li> {@link Column#length()} will only affect fields of {@link String} and collections of those, empty strings will be treated as being {@code null}</li>
  * <li> {@link FieldUtils#getAllFields(Class)} contains parent fields (if any)</li>
  * </ul>
  * <p>
- * Unique constraints will be ignored if all related values are {@code null}.
+ * Unique constraints will be ignored if all related values are {@code null}. For updates they are only checked if
+ * the change data contains a related property with a value different from the previous state. The unique queries are
+ * precompiled per null pattern of the checked values (see {@link #queryVariant(long)}), so Hibernate's query plan
+ * cache is hit for every validation.
+ * <p>
+ * Instances are thread safe and meant to be cached, see {@link AnnotationBasedValidatorFactory}.
  * <p>
  * Also note: No errors will be generated
  * for unique group members which refer to entity references / UUIDs if {@code ignoreReferenceUniqueErrors} is set.
@@ -44,6 +49,15 @@ import static org.apache.commons.lang3.StringUtils.join;
 @Log4j2
 public class AnnotationBasedValidator<E> implements Validator<E>
 {
+   /**
+    * Maximal number of unique constraint properties (two bits per property in a query variant).
+    */
+   private static final int MAX_SLOTS = Long.SIZE / 2;
+   /**
+    * Maximal number of query variants built at construction.
+    */
+   private static final int MAX_PRECOMPILED_QUERIES = 256;
+
    private final Class<E> type;
    private final boolean ignoreReferenceUniqueErrors;
 
@@ -60,6 +74,46 @@ public class AnnotationBasedValidator<E> implements Validator<E>
     */
    protected final Map<String, UniqueConstraintRestriction> uniqueConstraintRestrictions = new HashMap<>();
 
+   /**
+    * Properties of all unique constraints in select order (after the uuid) of the unique query.
+    */
+   private final List<String> uniqueColumns;
+
+   /**
+    * Unique constraint properties referencing entities - compared by uuid.
+    */
+   private final Set<String> referenceFields;
+
+   /**
+    * JPQL path per unique constraint property, see {@link #column(String)}.
+    */
+   private final Map<String, String> columns = new HashMap<>();
+
+   /**
+    * Left joins of the {@link #referenceFields} of the unique queries.
+    */
+   private final String referenceJoins;
+
+   /**
+    * Unique constraint restrictions in query order, each occupying one slot per property from its offset in
+    * {@link #slotOffsets}.
+    */
+   private final List<UniqueConstraintRestriction> uniqueRestrictions;
+   private final int[] slotOffsets;
+
+   /**
+    * Unique query per variant (null pattern bitmask, see {@link #queryVariant(long)}).
+    */
+   private final Map<Long, String> uniqueQueries = new ConcurrentHashMap<>();
+
+   private final Map<String, PropertyAccessor> accessors;
+
+   private final String entityName;
+
+   /**
+    * Shared, thread safe entity manager proxy - delegates to the entity manager of the current transaction (or a
+    * temporary one), so the validator can be cached without holding a request bound entity manager.
+    */
    private final EntityManager entityManager;
 
    /**
@@ -67,22 +121,109 @@ public class AnnotationBasedValidator<E> implements Validator<E>
     *
     * @param type                        class to scan for related annotations
     * @param ignoreReferenceUniqueErrors if {@literal true} unique errors for reference fields will raise no error
-    * @param entityManager               interface to access the persistence context
+    * @param entityManagerFactory        factory of the persistence context to query
     */
    public AnnotationBasedValidator(@NonNull Class<E> type, boolean ignoreReferenceUniqueErrors,
-                                   @NonNull EntityManager entityManager)
+                                   @NonNull EntityManagerFactory entityManagerFactory)
    {
       List<Field> allFieldsList = FieldUtils.getAllFieldsList(type);
 
-      this.entityManager = entityManager;
+      this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+      this.entityName = entityManagerFactory.getMetamodel().entity(type).getName();
 
       this.type = type;
       processTableAnnotation(type, allFieldsList);
       processFieldAnnotation(allFieldsList);
 
+      this.uniqueColumns = uniqueConstraintRestrictions.values().stream()
+            .flatMap(restriction -> restriction.getFieldNames().stream())
+            .distinct()
+            .collect(Collectors.toList());
+      this.referenceFields = uniqueConstraintRestrictions.values().stream()
+            .flatMap(restriction -> restriction.getUniqueGroup().values().stream())
+            .filter(field -> BaseEntity.class.isAssignableFrom(field.getType()))
+            .map(Field::getName)
+            .collect(Collectors.toSet());
+
+      // references are left joined, so rows with a null reference are kept
+      StringBuilder joins = new StringBuilder();
+      for (String fieldName : uniqueColumns)
+      {
+         if (referenceFields.contains(fieldName))
+         {
+            String alias = "r" + columns.size();
+            joins.append(String.format(" left join x.%s %s", fieldName, alias));
+            columns.put(fieldName, alias + ".uuid");
+         }
+         else
+         {
+            columns.put(fieldName, "x." + fieldName);
+         }
+      }
+      this.referenceJoins = joins.toString();
+
+      this.uniqueRestrictions = new ArrayList<>(uniqueConstraintRestrictions.values());
+      this.slotOffsets = new int[uniqueRestrictions.size()];
+      int slots = 0;
+      for (int i = 0; i < uniqueRestrictions.size(); i++)
+      {
+         slotOffsets[i] = slots;
+         slots += uniqueRestrictions.get(i).getFieldNames().size();
+      }
+      if (slots > MAX_SLOTS)
+      {
+         throw new IllegalArgumentException(type.getName() + " declares more than " + MAX_SLOTS
+               + " unique constraint properties");
+      }
+      precompileQueries(0, 0L, 0);
+
+      this.accessors = PropertyAccessor.forClass(type);
       this.ignoreReferenceUniqueErrors = ignoreReferenceUniqueErrors;
    }
 
+   /**
+    * Builds the unique queries of all variants a single entity can produce: every restriction is either skipped or
+    * checked with one of its null patterns (except all values {@code null}). Variants of bulk validations (a
+    * property with {@code null} and non {@code null} values) are built on first use.
+    *
+    * @param restriction index of the next restriction to combine
+    * @param variant     variant of the previous restrictions
+    * @param count       number of variants created so far (limited to {@link #MAX_PRECOMPILED_QUERIES})
+    * @return number of variants created so far
+    */
+   private int precompileQueries(int restriction, long variant, int count)
+   {
+      if (count >= MAX_PRECOMPILED_QUERIES)
+      {
+         return count;
+      }
+      if (restriction == uniqueRestrictions.size())
+      {
+         if (variant == 0)
+         {
+            return count;
+         }
+         uniqueQueries.put(variant, queryVariant(variant));
+         return count + 1;
+      }
+
+      // restriction skipped
+      count = precompileQueries(restriction + 1, variant, count);
+
+      int size = uniqueRestrictions.get(restriction).getFieldNames().size();
+      for (int nulls = 0; nulls < (1 << size) - 1; nulls++)
+      {
+         long restrictionVariant = variant;
+         for (int i = 0; i < size; i++)
+         {
+            int slot = slotOffsets[restriction] + i;
+            restrictionVariant |= ((nulls >>> i & 1) != 0) ? nullBit(slot) : valueBit(slot);
+         }
+         count = precompileQueries(restriction + 1, restrictionVariant, count);
+      }
+      return count;
+   }
+
    /**
     * Processes {@link Table} annotation, to enrich complex entries of {@link UniqueConstraintRestriction}.
     * It depends on the size of declared {@link UniqueConstraint} annotations in {@link Table}.
@@ -194,13 +335,27 @@ public class AnnotationBasedValidator<E> implements Validator<E>
    @Override
    public void validate(E entity, E previousState, Map<String, Object> data,
          ValidationErrors errors)
+   {
+      validateAll(Collections.singletonList(new ValidationItem<>(entity, previousState, data, errors)));
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The unique constraints of all items are checked with one single query.
+    */
+   @Override
+   public void validateAll(List<ValidationItem<E>> items)
    {
       try
       {
-         validateFieldRestrictions(entity, errors, fieldRestrictions);
-         validateUniqueConstraintRestrictions(entity, errors, uniqueConstraintRestrictions);
+         for (ValidationItem<E> item : items)
+         {
+            validateFieldRestrictions(item.getEntity(), item.getErrors(), fieldRestrictions);
+         }
+         validateUniqueConstraintRestrictions(items);
       }
-      catch (ClassCastException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e)
+      catch (ClassCastException | InvocationTargetException | NoSuchMethodException e)
       {
          log.error("could not read property", e);
       }
@@ -212,20 +367,19 @@ public class AnnotationBasedValidator<E> implements Validator<E>
     * @param entity       entity to be evaluated
     * @param errors       validation violations
     * @param restrictions restrictions to be used in the validation
-    * @throws IllegalAccessException    could not read property
     * @throws NoSuchMethodException     could not read property
     * @throws InvocationTargetException could not read property
     */
    private void validateFieldRestrictions(E entity, ValidationErrors
          errors, Map<String, FieldRestriction> restrictions)
-         throws IllegalAccessException, NoSuchMethodException, InvocationTargetException
+         throws NoSuchMethodException, InvocationTargetException
    {
       for (Map.Entry<String, FieldRestriction> entry : restrictions.entrySet())
       {
          String field = entry.getKey();
          FieldRestriction restriction = entry.getValue();
 
-         Object value = getProperty(entity, field);
+         Object value = read(entity, field);
          if (restriction.notNull)
          {
             errors.decideRequiredError(field, value);
@@ -256,164 +410,262 @@ public class AnnotationBasedValidator<E> implements Validator<E>
    }
 
    /**
-    * Validates entries of {@link UniqueConstraintRestriction} on an specific {@link Entity} by using a {@link Query}
-    * with an {@link EntityManager}. The resultSet will be compared to find violations.
+    * Validates entries of {@link UniqueConstraintRestriction} on the given entities by using a projection
+    * {@link Query} with an {@link EntityManager}. The query selects the uuid and the constrained properties of
+    * possibly violating entities only, which are compared to find violations. Items of the same bulk request are
+    * compared with each other, too.
     * <p>
-    * Note: all {@link UniqueConstraintRestriction} will be transformed to one single {@link Query}.
+    * Note: all {@link UniqueConstraintRestriction} of all items will be transformed to one single precompiled
+    * {@link Query}, the values of each property are bound as one collection parameter. Restrictions are skipped if
+    * none of their properties changed compared to the previous state.
     *
-    * @param entity       entity to be evaluated
-    * @param errors       validation violations
-    * @param restrictions restrictions to be used in the validation
-    * @throws IllegalAccessException    could not read property
+    * @param items entities to be evaluated with their validation violations
     * @throws NoSuchMethodException     could not read property
     * @throws InvocationTargetException could not read property
     */
-   private void validateUniqueConstraintRestrictions(E entity, ValidationErrors errors,
-         Map<String, UniqueConstraintRestriction> restrictions)
-         throws IllegalAccessException, NoSuchMethodException, InvocationTargetException
+   private void validateUniqueConstraintRestrictions(List<ValidationItem<E>> items)
+         throws NoSuchMethodException, InvocationTargetException
    {
+      Map<Integer, Set<Object>> parameters = new HashMap<>(); // values per slot
+      Map<UniqueKey, List<ValidationItem<E>>> candidates = new HashMap<>();
+      long variant = 0;
 
-      Map<String, Object> parameters = new HashMap<>(); // flat map of fieldName to fieldValue, for faster lookup
-      String tableName = type.getDeclaredAnnotation(Entity.class).name();
-      String jpqlTemplate = "select x from %s x where %s";
-      String whereClause = "";
-
-      // loop over all restrictions to create the whereClause
-      for (UniqueConstraintRestriction restriction : restrictions.values())
+      for (ValidationItem<E> item : items)
       {
-         Map<String, Field> uniqueGroup = restriction.getUniqueGroup();
-         List<String> expressions = new ArrayList<>(uniqueGroup.size());
+         for (int r = 0; r < uniqueRestrictions.size(); r++)
+         {
+            UniqueConstraintRestriction restriction = uniqueRestrictions.get(r);
 
-         Optional<Field> uniqueGroupViolation = uniqueGroup
-               .values()
-               .stream()
-               .filter(field -> errors.getFields().containsKey(field.getName())).findAny();
+            // skip when there is already at least one error or nothing changed
+            if (restriction.getFieldNames().stream().anyMatch(item.getErrors().getFields()::containsKey)
+                  || !isChanged(restriction, item))
+            {
+               continue;
+            }
 
-         // skip expression when there is already at least one error
-         if (!uniqueGroupViolation.isPresent())
-         {
-            int nullValues = createExpressionsCountingNulls(uniqueGroup.values(), entity, parameters, expressions);
+            List<Object> values = new ArrayList<>(restriction.getFieldNames().size());
+            for (String fieldName : restriction.getFieldNames())
+            {
+               values.add(uniqueValue(read(item.getEntity(), fieldName)));
+            }
 
             // skip unique test if all values are null
-            if (nullValues == uniqueGroup.size())
+            if (values.stream().allMatch(Objects::isNull))
             {
                continue;
             }
 
-            // create term by joining all expressions for one uniqueGroup with and-operator
-            String term = expressions.size() > 1
-                  ? String.format("(%s)", join(expressions, " AND "))
-                  : expressions.get(0);
-
-            // set term as whereClause when it is blank otherwise append with or-operator
-            whereClause = !isBlank(whereClause)
-                  ? join(Arrays.asList(whereClause, term), " OR ")
-                  : term;
+            UniqueKey key = new UniqueKey(restriction.getFieldNames(), values);
+            List<ValidationItem<E>> sameValues = candidates.computeIfAbsent(key, k -> new ArrayList<>());
+            if (sameValues.isEmpty())
+            {
+               for (int i = 0; i < values.size(); i++)
+               {
+                  int slot = slotOffsets[r] + i;
+                  if (values.get(i) == null)
+                  {
+                     variant |= nullBit(slot);
+                  }
+                  else
+                  {
+                     variant |= valueBit(slot);
+                     parameters.computeIfAbsent(slot, k -> new HashSet<>()).add(values.get(i));
+                  }
+               }
+            }
+            else if (sameValues.stream().noneMatch(other -> isSameEntity(other.getEntity(), item.getEntity())))
+            {
+               // duplicate within the bulk request - the first item wins
+               restriction.getFieldNames().forEach(item.getErrors()::addUniqueError);
+            }
+            sameValues.add(item);
          }
       }
 
-      // skip when there are no terms in the whereClause
-      if (StringUtils.isBlank(whereClause))
+      // skip when there is nothing to check
+      if (variant == 0)
       {
          return;
       }
-      // create query and bind all parameters with the flatted map
-      Query query = entityManager.createQuery(String.format(jpqlTemplate, tableName, whereClause));
+
+      // create query and bind all parameters
+      TypedQuery<Object[]> query = entityManager.createQuery(
+            uniqueQueries.computeIfAbsent(variant, this::queryVariant), Object[].class);
       query.setFlushMode(FlushModeType.COMMIT);
-      parameters.entrySet()
-            .stream()
-            .filter(entry -> entry.getValue() != null)
-            .forEach(entry -> query.setParameter(entry.getKey(), entry.getValue()));
-
-      // find and loop over all violated entities
-      List<E> violatingEntities = query.getResultList();
-      for (E violatingEntity : violatingEntities)
+      parameters.forEach((slot, values) -> query.setParameter(parameter(slot), values));
+
+      // find and loop over all violating rows - the query may return more rows than violations for bulk requests
+      // (conditions of different items are combined per property), each row is verified by its values
+      for (Object[] row : query.getResultList())
       {
-         generateErrorsForViolatingEntity(entity, violatingEntity, errors, restrictions, parameters);
+         generateErrorsForViolatingRow(row, candidates);
       }
    }
 
-   private Map<String, Field> buildUniqueGroupWithoutReferences(E
-         violatingEntity, Map<String, Field> uniqueGroupMembers)
+   /**
+    * @return {@code true} if the restriction has to be checked: on creation or if a property of the restriction was
+    * sent with a value different from the previous state
+    */
+   private boolean isChanged(UniqueConstraintRestriction restriction, ValidationItem<E> item)
+         throws NoSuchMethodException, InvocationTargetException
    {
-      // don't send uniqueness violation errors for entities / uuids.
-      final Set<String> fieldsReferencingEntities = uniqueGroupMembers
-            .keySet().stream()
-            .filter(field ->
+      if (item.getPreviousState() == null)
+      {
+         return true;
+      }
+
+      for (String fieldName : restriction.getFieldNames())
+      {
+         if (item.getData().containsKey(fieldName)
+               && !Objects.equals(uniqueValue(read(item.getEntity(), fieldName)),
+               uniqueValue(read(item.getPreviousState(), fieldName))))
+         {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Builds the unique query of a variant. A variant is a bitmask with two bits per property (slot) of the unique
+    * constraint restrictions: {@link #valueBit(int)} if the property is compared to values, {@link #nullBit(int)} if
+    * it is compared to {@code null}. Restrictions without any bit are not part of the query.
+    *
+    * @param variant variant bitmask
+    * @return JPQL query selecting the uuid and all unique constraint properties (the uuid of references)
+    */
+   private String queryVariant(long variant)
+   {
+      List<String> terms = new ArrayList<>();
+      for (int r = 0; r < uniqueRestrictions.size(); r++)
+      {
+         List<String> fieldNames = uniqueRestrictions.get(r).getFieldNames();
+         List<String> expressions = new ArrayList<>(fieldNames.size());
+         for (int i = 0; i < fieldNames.size(); i++)
+         {
+            int slot = slotOffsets[r] + i;
+            String path = column(fieldNames.get(i));
+            boolean values = (variant & valueBit(slot)) != 0;
+            boolean nulls = (variant & nullBit(slot)) != 0;
+            if (values && nulls)
             {
-               try
-               {
-                  Object fieldValue = getProperty(violatingEntity, field);
-                  return (fieldValue instanceof BaseEntity);
-               }
-               catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e)
-               {
-                  // should never happen
-                  log.warn("Exception during unique constraint validation", e);
-                  return true;
-               }
-            })
-            .collect(Collectors.toSet());
-      final Map<String, Field> uniqueGroupMembersWithoutReferenceFields = new HashMap<>(uniqueGroupMembers);
-      fieldsReferencingEntities.forEach(uniqueGroupMembersWithoutReferenceFields::remove);
-      return uniqueGroupMembersWithoutReferenceFields;
+               expressions.add(String.format("(%s IN :%s OR %s IS NULL)", path, parameter(slot), path));
+            }
+            else if (values)
+            {
+               expressions.add(String.format("%s IN :%s", path, parameter(slot)));
+            }
+            else if (nulls)
+            {
+               expressions.add(path + " IS NULL");
+            }
+         }
+
+         if (!expressions.isEmpty())
+         {
+            // create term by joining all expressions for one uniqueGroup with and-operator
+            terms.add(expressions.size() > 1
+                  ? String.format("(%s)", join(expressions, " AND "))
+                  : expressions.get(0));
+         }
+      }
+
+      return String.format("select x.uuid, %s from %s x%s where %s",
+            uniqueColumns.stream().map(this::column).collect(Collectors.joining(", ")), entityName, referenceJoins,
+            join(terms, " OR "));
    }
 
-   private void generateErrorsForViolatingEntity(E validatedEntity, E violatingEntity, ValidationErrors errors,
-         Map<String, UniqueConstraintRestriction> restrictions, Map<String, Object> parameters)
-         throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+   private static long valueBit(int slot)
    {
-      // skip self match
-      if (!Objects.equals(getProperty(validatedEntity, "uuid"), getProperty(violatingEntity, "uuid")))
+      return 1L << (2 * slot);
+   }
+
+   private static long nullBit(int slot)
+   {
+      return 1L << (2 * slot + 1);
+   }
+
+   private static String parameter(int slot)
+   {
+      return "p" + slot;
+   }
+
+   private void generateErrorsForViolatingRow(Object[] row, Map<UniqueKey, List<ValidationItem<E>>> candidates)
+   {
+      for (UniqueConstraintRestriction restriction : uniqueRestrictions)
       {
-         for (UniqueConstraintRestriction restriction : restrictions.values())
+         List<Object> values = new ArrayList<>(restriction.getFieldNames().size());
+         for (String fieldName : restriction.getFieldNames())
          {
-            boolean isValid = false;
+            values.add(row[uniqueColumns.indexOf(fieldName) + 1]);
+         }
 
-            for (Field field : restriction.getUniqueGroup().values())
+         for (ValidationItem<E> item : candidates.getOrDefault(new UniqueKey(restriction.getFieldNames(), values),
+               Collections.emptyList()))
+         {
+            // skip self match
+            if (Objects.equals(uuid(item.getEntity()), row[0]))
             {
-               String fieldName = field.getName();
-               Object fieldValue = getProperty(violatingEntity, fieldName);
-               isValid |= !Objects.equals(parameters.get(fieldName), fieldValue);
+               continue;
             }
-            if (!isValid)
+
+            for (int i = 0; i < values.size(); i++)
             {
-               Map<String, Field> uniqueGroup = restriction.getUniqueGroup();
-               if (ignoreReferenceUniqueErrors)
+               String fieldName = restriction.getFieldNames().get(i);
+               // don't send uniqueness violation errors for entities / uuids
+               if (!ignoreReferenceUniqueErrors || values.get(i) == null
+                     || !referenceFields.contains(fieldName))
                {
-                  uniqueGroup = buildUniqueGroupWithoutReferences(violatingEntity, uniqueGroup);
+                  item.getErrors().addUniqueError(fieldName);
                }
-               uniqueGroup.forEach((s, field) -> errors.addUniqueError(field.getName()));
             }
          }
       }
    }
 
-   private int createExpressionsCountingNulls(@NonNull Collection<Field> groupMembers, @NonNull E entity,
-         @NonNull Map<String, Object> parameters, @NonNull List<String> expressions)
-         throws IllegalAccessException, NoSuchMethodException, InvocationTargetException
+   /**
+    * Reads a property with its cached accessor.
+    *
+    * @param bean     entity or previous state
+    * @param property property name
+    * @return property value
+    * @throws NoSuchMethodException     property unknown or not readable
+    * @throws InvocationTargetException the getter threw an exception
+    */
+   private Object read(Object bean, String property) throws NoSuchMethodException, InvocationTargetException
    {
-      int nullValues = 0;
-
-      // map entries of uniqueGroup to list of expressions
-      for (Field field : groupMembers)
+      PropertyAccessor accessor = accessors.get(property);
+      if (accessor == null)
       {
-         Object fieldValue = getProperty(entity, field.getName());
+         throw new NoSuchMethodException("unknown property " + property + " of " + type.getName());
+      }
+      return accessor.get(bean);
+   }
 
-         if (fieldValue == null)
-         {
-            nullValues++;
-         }
+   private static boolean isSameEntity(Object entity, Object other)
+   {
+      return entity == other || (uuid(entity) != null && Objects.equals(uuid(entity), uuid(other)));
+   }
 
-         // create expression with corresponding fieldNames
-         String expression = fieldValue == null ? "x.%s IS NULL" : "x.%s = :%s";
-         expressions.add(String.format(expression, field.getName(), field.getName()));
+   private static UUID uuid(Object entity)
+   {
+      return entity instanceof BaseEntity baseEntity ? baseEntity.getUuid() : null;
+   }
 
-         // collect fields in flat form for faster lookup
-         parameters.put(field.getName(), fieldValue);
-      }
+   /**
+    * @return JPQL path of the selected / compared column: the uuid of the joined entity for references
+    */
+   private String column(String fieldName)
+   {
+      return columns.get(fieldName);
+   }
 
-      return nullValues;
+   /**
+    * @return value to compare: the uuid for entity references
+    */
+   private static Object uniqueValue(Object value)
+   {
+      return value instanceof BaseEntity entity ? entity.getUuid() : value;
    }
 
    /**
@@ -464,5 +716,23 @@ public class AnnotationBasedValidator<E> implements Validator<E>
    class UniqueConstraintRestriction
    {
       private Map<String, Field> uniqueGroup;
+      private List<String> fieldNames;
+
+      UniqueConstraintRestriction(Map<String, Field> uniqueGroup)
+      {
+         this.uniqueGroup = uniqueGroup;
+         this.fieldNames = new ArrayList<>(uniqueGroup.keySet());
+      }
+   }
+
+   /**
+    * Values of one unique constraint restriction (uuids for entity references), in order of
+    * {@link UniqueConstraintRestriction#getFieldNames()}.
+    */
+   @Value
+   private static class UniqueKey
+   {
+      private List<String> fieldNames;
+      private List<Object> values;
    }
 }
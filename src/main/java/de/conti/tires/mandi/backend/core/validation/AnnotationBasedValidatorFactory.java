@@ -1,28 +1,66 @@
 package de.conti.tires.mandi.backend.core.validation;
 
 import de.conti.tires.mandi.backend.core.base.BaseEntity;
-import jakarta.persistence.EntityManager;
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
  * Factory to get generic instances of {@link AnnotationBasedValidator}. All instances will be cached in a map.
+ * <p>
+ * The validators of all entities of the JPA metamodel are built on startup, so no request pays for the annotation
+ * scanning. Lookups are lock free, validators of other types are built once on first request.
  */
 @Log4j2
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class AnnotationBasedValidatorFactory
 {
-   private final EntityManager entityManager;
+   private final EntityManagerFactory entityManagerFactory;
 
-   // maps a generic to a generic instance of an AnnotationBasedValidator including the ignoreReferenceUniqueErrors flag
-   private final Map<Class<? extends BaseEntity>, Map<Boolean, AnnotationBasedValidator<? extends BaseEntity>>> validatorMap = new HashMap<>();
+   // maps a generic to a generic instance of an AnnotationBasedValidator - one map per ignoreReferenceUniqueErrors flag
+   private final Map<Class<?>, AnnotationBasedValidator<?>> ignoringReferenceErrors = new ConcurrentHashMap<>();
+   private final Map<Class<?>, AnnotationBasedValidator<?>> reportingReferenceErrors = new ConcurrentHashMap<>();
+
+   /**
+    * Builds the validators of all {@link BaseEntity} types of the JPA metamodel.
+    */
+   @PostConstruct
+   public void warmUp()
+   {
+      long start = System.currentTimeMillis();
+      int count = 0;
+      for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities())
+      {
+         if (!BaseEntity.class.isAssignableFrom(entity.getJavaType()))
+         {
+            continue;
+         }
+
+         Class<? extends BaseEntity> type = entity.getJavaType().asSubclass(BaseEntity.class);
+         try
+         {
+            create(type, true);
+            create(type, false);
+            count++;
+         }
+         catch (RuntimeException e)
+         {
+            // reported again on first use
+            log.warn("could not build validator of {}", type.getName(), e);
+         }
+      }
+      log.info("annotation based validators of {} entities built in {} ms", count,
+            System.currentTimeMillis() - start);
+   }
 
    /**
     * Returns an generic instance of {@link AnnotationBasedValidator} ignoring reference unique errors,
@@ -50,9 +88,17 @@ public class AnnotationBasedValidatorFactory
    public <T extends BaseEntity> AnnotationBasedValidator<T> create(@NonNull Class<T> type,
          boolean ignoreReferenceUniqueErrors)
    {
-      return (AnnotationBasedValidator<T>) validatorMap
-            .computeIfAbsent(type, aClass -> new HashMap<>())
-            .computeIfAbsent(ignoreReferenceUniqueErrors, flag ->
-                  new AnnotationBasedValidator<>(type, flag, entityManager));
+      Map<Class<?>, AnnotationBasedValidator<?>> validators = ignoreReferenceUniqueErrors
+            ? ignoringReferenceErrors
+            : reportingReferenceErrors;
+
+      // plain get first - computeIfAbsent may lock even if the validator exists
+      AnnotationBasedValidator<?> validator = validators.get(type);
+      if (validator == null)
+      {
+         validator = validators.computeIfAbsent(type, key ->
+               new AnnotationBasedValidator<>(type, ignoreReferenceUniqueErrors, entityManagerFactory));
+      }
+      return (AnnotationBasedValidator<T>) validator;
    }
 }
@@ -76,12 +76,17 @@ public class ExceptionMessage extends SimpleTranslatableMessage
    }
 
    /**
-    * Will set the exception specific values
+    * Will set the exception specific values - the stacktrace only if stack traces are enabled
+    * ({@link ApiException#isStackTraceEnabled()}), as printing it is expensive and it is cleared otherwise anyway.
     */
    private void applyValues()
    {
       this.exceptionName = this.exception.getClass().getSimpleName();
       this.errorMessage = this.exception.getMessage();
+      if (!ApiException.isStackTraceEnabled())
+      {
+         return;
+      }
 
       StringWriter writer = new StringWriter();
       PrintWriter printer = new PrintWriter(writer);
@@ -271,6 +271,20 @@ public class ValidationErrors implements Serializable
       return global.isEmpty() && fields.isEmpty();
    }
 
+   /**
+    * @return number of global and field errors
+    */
+   @JsonIgnore
+   public int size()
+   {
+      int size = global.size();
+      for (Set<ValidationError> errors : fields.values())
+      {
+         size += errors.size();
+      }
+      return size;
+   }
+
    /**
     * Removes all errors for the given field.
     *
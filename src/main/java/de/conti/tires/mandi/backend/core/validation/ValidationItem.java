@@ -0,0 +1,36 @@
+package de.conti.tires.mandi.backend.core.validation;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.Map;
+
+
+/**
+ * Single entity of a bulk validation, see {@link Validator#validateAll(java.util.List)}.
+ *
+ * @param <E> entity type
+ */
+@Value
+public class ValidationItem<E>
+{
+   /**
+    * Entity to validate.
+    */
+   @NonNull
+   private E entity;
+   /**
+    * Entity's previous state ({@code null} in case of creation).
+    */
+   private E previousState;
+   /**
+    * Change data.
+    */
+   @NonNull
+   private Map<String, Object> data;
+   /**
+    * Error information to fill.
+    */
+   @NonNull
+   private ValidationErrors errors;
+}
@@ -1,5 +1,6 @@
 package de.conti.tires.mandi.backend.core.validation;
 
+import java.util.List;
 import java.util.Map;
 
 
@@ -16,10 +17,27 @@ public interface Validator<E>
     * {@code errors} is the only parameter that is allowed to be modified.
     *
     * @param entity        entity to validate
-    * @param previousState entity's previous state ({@code null} in case of creation)
+    * @param previousState entity's previous state ({@code null} in case of creation) - for updates of the base
+    *                      controller a partial copy holding uuid, version and the properties of {@code data} only
     * @param data          change data
     * @param errors        error information to fill (I18N bean is available)
     */
    void validate(E entity, E previousState, Map<String, Object> data,
          ValidationErrors errors);
+
+   /**
+    * Validates multiple entities of one bulk request, each writing its errors in its own error information object.
+    * <p>
+    * The default implementation validates each item with {@link #validate(Object, Object, Map, ValidationErrors)}.
+    * Implementations should override it if checks (e.g. queries) can be shared between the items.
+    *
+    * @param items entities to validate
+    */
+   default void validateAll(List<ValidationItem<E>> items)
+   {
+      for (ValidationItem<E> item : items)
+      {
+         validate(item.getEntity(), item.getPreviousState(), item.getData(), item.getErrors());
+      }
+   }
 }
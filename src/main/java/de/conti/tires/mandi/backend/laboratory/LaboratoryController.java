@@ -5,6 +5,8 @@ import de.conti.tires.mandi.backend.core.validation.Validator;
 import de.conti.tires.mandi.backend.laboratory.projection.LaboratoryDetails;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -45,6 +47,15 @@ public class    LaboratoryController
         return laboratoryDetailConverter;
     }
 
+    /**
+     * Loads list pages via a projection query instead of whole entities.
+     */
+    @Override
+    protected Slice<LaboratoryDetails> findFilteredProjections(String filter, Pageable pageable)
+    {
+        return laboratoryRepository.findFilteredDetails(filter, pageable).map(laboratoryDetailConverter::convert);
+    }
+
     @Override
     protected Validator<LaboratoryEntity> getValidator()
     {
@@ -1,14 +1,18 @@
 package de.conti.tires.mandi.backend.laboratory;
 
+import de.conti.tires.mandi.backend.core.jfr.ConversionEvent;
 import de.conti.tires.mandi.backend.laboratory.projection.LaboratoryDetails;
-import de.conti.tires.mandi.backend.user.UserSummaryConverter;
+import de.conti.tires.mandi.backend.user.projection.UserDetails;
+import de.conti.tires.mandi.backend.user.projection.UserSummary;
+import de.conti.tires.mandi.backend.util.BeanMapper;
+import jakarta.persistence.Tuple;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 
 /**
@@ -17,7 +21,8 @@ import java.util.Optional;
 @Component
 @RequiredArgsConstructor
 public class LaboratoryDetailConverter implements Converter<LaboratoryEntity, LaboratoryDetails> {
-    private UserSummaryConverter userConverter = new UserSummaryConverter();
+    private static final BeanMapper<LaboratoryEntity, LaboratoryDetails> MAPPER =
+            BeanMapper.of(LaboratoryEntity.class, LaboratoryDetails.class);
 
     /**
      * Convert the source object of type {@code S} to target type {@code T}.
@@ -28,18 +33,55 @@ public class LaboratoryDetailConverter implements Converter<LaboratoryEntity, La
      */
     @Override
     public LaboratoryDetails convert(@NonNull LaboratoryEntity source) {
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.getConfiguration()
-                .setAmbiguityIgnored(true); // prevent error - we'll handle references in a few lines
+        ConversionEvent event = ConversionEvent.start(LaboratoryDetailConverter.class, LaboratoryEntity.class);
+        try {
+            // audit users and the lab user are mapped by nested plans
+            return MAPPER.map(source);
+        } finally {
+            ConversionEvent.end(event);
+        }
+    }
 
-        LaboratoryDetails details = new LaboratoryDetails();
-        modelMapper.map(source, details);
+    /**
+     * Converts a row of {@link LaboratoryRepository#findFilteredDetails} - equal to the conversion of the entity.
+     *
+     * @param row projection query row
+     * @return the converted object
+     */
+    public LaboratoryDetails convert(@NonNull Tuple row) {
+        ConversionEvent event = ConversionEvent.start(LaboratoryDetailConverter.class, Tuple.class);
+        try {
+            return convertRow(row);
+        } finally {
+            ConversionEvent.end(event);
+        }
+    }
 
-        Optional.ofNullable(source.getCreatedBy())
-                .ifPresent(value -> details.setCreatedBy(userConverter.convert(value)));
+    private LaboratoryDetails convertRow(Tuple row) {
+        LaboratoryDetails details = new LaboratoryDetails();
+        details.applyAuditColumns(row);
+        details.setName(row.get("name", String.class));
+        details.setShortName(row.get("shortName", String.class));
+        details.setResultValue(row.get("resultValue", Double.class));
+        details.setLabDate(row.get("labDate", LocalDateTime.class));
+        details.setLabSwitchOn(row.get("labSwitchOn", Boolean.class));
+        details.setLabSwitchOff(row.get("labSwitchOff", Boolean.class));
 
-        Optional.ofNullable(source.getLastModifiedBy())
-                .ifPresent(value -> details.setLastModifiedBy(userConverter.convert(value)));
+        UUID labUserUuid = row.get("labUserUuid", UUID.class);
+        if (labUserUuid != null) {
+            UserDetails labUser = new UserDetails();
+            labUser.setUuid(labUserUuid);
+            labUser.setActive(row.get("labUserActive", Boolean.class));
+            labUser.setUserName(row.get("labUserUserName", String.class));
+            labUser.setFirstname(row.get("labUserFirstname", String.class));
+            labUser.setLastname(row.get("labUserLastname", String.class));
+            labUser.setEmail(row.get("labUserEmail", String.class));
+            labUser.setCreatedDate(row.get("labUserCreatedDate", LocalDateTime.class));
+            labUser.setLastModifiedDate(row.get("labUserLastModifiedDate", LocalDateTime.class));
+            labUser.setCreatedBy(UserSummary.of(row, "labUserCreatedBy"));
+            labUser.setLastModifiedBy(UserSummary.of(row, "labUserLastModifiedBy"));
+            details.setLabUser(labUser);
+        }
 
         return details;
     }
@@ -1,6 +1,7 @@
 package de.conti.tires.mandi.backend.laboratory;
 
 import de.conti.tires.mandi.backend.core.base.AuditBaseEntity;
+import de.conti.tires.mandi.backend.core.base.SearchField;
 import de.conti.tires.mandi.backend.user.UserEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -20,10 +21,12 @@ public class LaboratoryEntity extends AuditBaseEntity implements Serializable {
 
     @Column(length = 64, unique = true)
     @NotNull
+    @SearchField
     private String name;
 
     @Column(length = 10)
     @NotNull
+    @SearchField
     private String shortName;
 
     @Column(length = 10)
@@ -1,9 +1,11 @@
 package de.conti.tires.mandi.backend.laboratory;
 
-import de.conti.tires.mandi.backend.core.base.BaseEntityRepository;
+import de.conti.tires.mandi.backend.core.base.AuditBaseEntityRepository;
+import de.conti.tires.mandi.backend.laboratory.projection.LaboratoryDetails;
 import jakarta.persistence.QueryHint;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.Tuple;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
@@ -18,7 +20,7 @@ import java.util.UUID;
  */
 @Repository
 //@RepositoryRestResource(exported = false, collectionResourceRel = "content")
-public interface LaboratoryRepository extends BaseEntityRepository<LaboratoryEntity> {
+public interface LaboratoryRepository extends AuditBaseEntityRepository<LaboratoryEntity> {
 
     Boolean existsByName(String name);
     Optional<LaboratoryEntity> findByName(String name);
@@ -36,16 +38,29 @@ public interface LaboratoryRepository extends BaseEntityRepository<LaboratoryEnt
     //@Query(value = "SELECT * FROM laboratories WHERE name = :name AND uuid <> :uuid", nativeQuery = true)
     Optional<LaboratoryEntity> findUniqueNameViolation(@Param("name") String name, @Param("uuid") UUID uuid);
 
-    @Override
+    /**
+     * Projection variant of {@link #findFilteredSlice(String, Pageable)} selecting the {@link LaboratoryDetails}
+     * columns only - read by {@link LaboratoryDetailConverter#convert(Tuple)}.
+     *
+     * @param filter   upper case filter text
+     * @param pageable page request
+     * @return slice of rows
+     */
     @Query(
-            "SELECT A FROM laboratories A " +
-                    "WHERE " +
-                    "CONCAT(" +
-                    "CASE WHEN A.name is NULL then '' ELSE UPPER(A.name) END, ' ', " +
-                    "CASE WHEN A.shortName is NULL then '' ELSE UPPER(A.shortName) END) " +
-                    "LIKE %:filter%"
+            "SELECT " + AUDIT_COLUMNS + ", " +
+                    "A.name AS name, A.shortName AS shortName, A.resultValue AS resultValue, " +
+                    "A.labDate AS labDate, A.labSwitchOn AS labSwitchOn, A.labSwitchOff AS labSwitchOff, " +
+                    "LU.uuid AS labUserUuid, LU.active AS labUserActive, LU.userName AS labUserUserName, " +
+                    "LU.firstname AS labUserFirstname, LU.lastname AS labUserLastname, LU.email AS labUserEmail, " +
+                    "LU.createdDate AS labUserCreatedDate, LU.lastModifiedDate AS labUserLastModifiedDate, " +
+                    "LCB.uuid AS labUserCreatedByUuid, LCB.firstname AS labUserCreatedByFirstname, " +
+                    "LCB.lastname AS labUserCreatedByLastname, LCB.email AS labUserCreatedByEmail, " +
+                    "LLMB.uuid AS labUserLastModifiedByUuid, LLMB.firstname AS labUserLastModifiedByFirstname, " +
+                    "LLMB.lastname AS labUserLastModifiedByLastname, LLMB.email AS labUserLastModifiedByEmail " +
+                    "FROM laboratories A " + AUDIT_JOINS + "LEFT JOIN A.labUser LU " +
+                    "LEFT JOIN LU.createdBy LCB LEFT JOIN LU.lastModifiedBy LLMB " + FILTER_CONDITION
     )
-    Page<LaboratoryEntity> findFiltered(
+    Slice<Tuple> findFilteredDetails(
             String filter,
             Pageable pageable
     );
@@ -2,10 +2,12 @@ package de.conti.tires.mandi.backend.laboratory;
 
 import de.conti.tires.mandi.backend.core.validation.AnnotationBasedValidatorFactory;
 import de.conti.tires.mandi.backend.core.validation.ValidationErrors;
+import de.conti.tires.mandi.backend.core.validation.ValidationItem;
 import de.conti.tires.mandi.backend.core.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 
 
@@ -50,4 +52,10 @@ public class LaboratoryValidator implements Validator<LaboratoryEntity> {
 //               .ifPresent(lab -> errors.addUniqueError("name"));
 //      }
     }
+
+    @Override
+    public void validateAll(List<ValidationItem<LaboratoryEntity>> items) {
+        // shares the unique query between the items
+        annotationBasedValidatorFactory.create(LaboratoryEntity.class).validateAll(items);
+    }
 }
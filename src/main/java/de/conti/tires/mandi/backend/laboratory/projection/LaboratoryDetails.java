@@ -1,9 +1,11 @@
 package de.conti.tires.mandi.backend.laboratory.projection;
 
 import de.conti.tires.mandi.backend.core.base.AuditBaseDTO;
+import de.conti.tires.mandi.backend.core.base.SharedUserSummaries;
 import de.conti.tires.mandi.backend.user.projection.UserDetails;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.NonNull;
 
 import java.time.LocalDateTime;
 
@@ -17,4 +19,10 @@ public class LaboratoryDetails extends AuditBaseDTO {
     private LocalDateTime labDate;
     private boolean labSwitchOn;
     private boolean labSwitchOff;
+
+    @Override
+    public void shareUserSummaries(@NonNull SharedUserSummaries shared) {
+        super.shareUserSummaries(shared);
+        labUser = shared.share(labUser);
+    }
 }
@@ -15,4 +15,8 @@ public class PageInfo {
     private Long totalElements;
     private Integer totalPages;
     private boolean lastPage;
+    /**
+     * Continuation token of the following page in keyset mode - {@code null} otherwise or on the last page.
+     */
+    private String nextCursor;
 }
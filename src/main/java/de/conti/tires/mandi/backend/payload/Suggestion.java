@@ -0,0 +1,23 @@
+package de.conti.tires.mandi.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+    /**
+     * Suggested entity.
+     */
+    private UUID uuid;
+    /**
+     * Search field values of the entity joined by blanks.
+     */
+    private String label;
+}
@@ -0,0 +1,37 @@
+package de.conti.tires.mandi.backend.user;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Revocation of all access tokens of a user issued up to {@link #notBefore}.
+ */
+@Entity(name = "tokenrevocations")
+@Getter
+@Setter
+public class AccessTokenRevocationEntity {
+    @Id
+    @Column(length = 36, columnDefinition = "char(36)")
+    @JdbcTypeCode(SqlTypes.CHAR) // -> new hibernate version
+    private UUID userUuid;
+
+    /**
+     * Access tokens issued up to this instant are invalid.
+     */
+    @Column(nullable = false)
+    private Instant notBefore;
+
+    /**
+     * All tokens covered by this revocation are expired after this instant - the row can be removed then.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,24 @@
+package de.conti.tires.mandi.backend.user;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AccessTokenRevocationRepository extends JpaRepository<AccessTokenRevocationEntity, UUID> {
+
+    @Query("SELECT r.userUuid FROM tokenrevocations r")
+    List<UUID> findAllUserUuids();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM tokenrevocations r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,153 @@
+package de.conti.tires.mandi.backend.user;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import de.conti.tires.mandi.container.security.jwt.JwtUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Revocation of access tokens per user (e.g. on sign out).
+ * <p>
+ * Revocations are stored with a not-before timestamp and checked for every request. A Bloom filter of the revoked
+ * users answers the common "not revoked" case in memory, the database is only asked on a filter hit - once per user,
+ * the result (including "no revocation" of a false positive) is cached until the user is revoked or the filter is
+ * rebuilt. Revocations are removed (and the filter is rebuilt) once all tokens they cover are expired. The filter is
+ * local to this instance: revocations made by other instances become visible with the next rebuild.
+ */
+@Log4j2
+@Service
+public class AccessTokenRevocationService {
+    private static final Funnel<UUID> UUID_FUNNEL = (uuid, sink) -> sink
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits());
+
+    @Autowired
+    private AccessTokenRevocationRepository revocationRepository;
+
+    @Value("${spring.app.jwtExpirationMs}")
+    private long jwtExpirationMs;
+
+    @Value("${spring.app.revocationFilterExpectedInsertions:10000}")
+    private int expectedInsertions;
+
+    private volatile BloomFilter<UUID> revokedUsers;
+
+    /**
+     * Stored not-before timestamps of users hitting the filter - empty if the user has no revocation.
+     */
+    private Cache<UUID, Optional<Instant>> notBefores;
+
+    @PostConstruct
+    void init() {
+        notBefores = CacheBuilder.newBuilder()
+                .maximumSize(expectedInsertions)
+                .build();
+    }
+
+    /**
+     * Revokes all access tokens of the user issued up to now.
+     * <p>
+     * Compared with the issue time in milliseconds (see {@link JwtUtils#getIssuedAt}), so a token of a new login
+     * is accepted even within the same second.
+     *
+     * @param userUuid user to revoke the tokens of
+     */
+    @Transactional
+    public void revokeUser(UUID userUuid) {
+        Instant notBefore = Instant.now();
+
+        AccessTokenRevocationEntity revocation = new AccessTokenRevocationEntity();
+        revocation.setUserUuid(userUuid);
+        revocation.setNotBefore(notBefore);
+        revocation.setExpiresAt(notBefore.plusMillis(jwtExpirationMs));
+        revocationRepository.save(revocation);
+
+        synchronized (this) {
+            filter().put(userUuid);
+        }
+        // again after the commit, so no concurrent request caches the state before it
+        notBefores.invalidate(userUuid);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notBefores.invalidate(userUuid);
+                }
+            });
+        }
+        log.debug("access tokens of user {} revoked", userUuid);
+    }
+
+    /**
+     * Tests whether an access token is revoked.
+     *
+     * @param userUuid user the token was issued for
+     * @param issuedAt issue time of the token
+     * @return {@code true} if the token must not be accepted anymore
+     */
+    public boolean isRevoked(UUID userUuid, Date issuedAt) {
+        if (!filter().mightContain(userUuid)) {
+            return false;
+        }
+
+        Optional<Instant> notBefore;
+        try {
+            notBefore = notBefores.get(userUuid, () -> revocationRepository.findById(userUuid)
+                    .map(AccessTokenRevocationEntity::getNotBefore));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return notBefore
+                .map(instant -> issuedAt == null || !issuedAt.toInstant().isAfter(instant))
+                .orElse(false);
+    }
+
+    /**
+     * Removes revocations covering only expired tokens and rebuilds the filter from the remaining ones.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${spring.app.revocationPurgeIntervalMs:300000}")
+    public void purgeExpired() {
+        int deleted = revocationRepository.deleteExpired(Instant.now());
+
+        // holding the lock while loading prevents losing revocations made during the rebuild
+        synchronized (this) {
+            List<UUID> userUuids = revocationRepository.findAllUserUuids();
+            BloomFilter<UUID> filter = BloomFilter.create(UUID_FUNNEL,
+                    Math.max(expectedInsertions, userUuids.size()));
+            userUuids.forEach(filter::put);
+            revokedUsers = filter;
+            notBefores.invalidateAll();
+        }
+        log.debug("{} expired token revocations purged", deleted);
+    }
+
+    private BloomFilter<UUID> filter() {
+        BloomFilter<UUID> filter = revokedUsers;
+        if (filter == null) {
+            synchronized (this) {
+                if (revokedUsers == null) {
+                    revokedUsers = BloomFilter.create(UUID_FUNNEL, expectedInsertions);
+                }
+                filter = revokedUsers;
+            }
+        }
+        return filter;
+    }
+}
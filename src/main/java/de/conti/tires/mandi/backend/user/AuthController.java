@@ -1,7 +1,6 @@
 package de.conti.tires.mandi.backend.user;
 
 import de.conti.tires.mandi.backend.core.exception.BadCredentialsException;
-import de.conti.tires.mandi.backend.core.exception.GenericException;
 import de.conti.tires.mandi.container.security.jwt.JwtUtils;
 import de.conti.tires.mandi.container.security.request.LoginRequest;
 import de.conti.tires.mandi.container.security.response.MessageResponse;
@@ -10,7 +9,6 @@ import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -32,6 +30,7 @@ public class AuthController {
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
     private final RefreshTokenService refreshTokenService;
+    private final AccessTokenRevocationService revocationService;
 
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
@@ -56,10 +55,10 @@ public class AuthController {
         ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(userDetails);
 
         // 2. Generate and Save Refresh Token in DB
-        RefreshTokenEntity refreshToken = refreshTokenService.createRefreshToken(userDetails.getUuid());
+        String refreshToken = refreshTokenService.createRefreshToken(userDetails.getUuid());
 
         // 3. Generate Refresh Token Cookie for the Browser
-        ResponseCookie jwtRefreshCookie = jwtUtils.generateRefreshJwtCookie(refreshToken.getToken());
+        ResponseCookie jwtRefreshCookie = jwtUtils.generateRefreshJwtCookie(refreshToken);
 
 
         List<String> roles = userDetails.getAuthorities().stream()
@@ -162,6 +161,8 @@ public class AuthController {
         if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
             // Delete the refresh token from DB for this specific user
             refreshTokenService.deleteByUserId(userDetails.getUuid());
+            // and invalidate the access tokens issued so far
+            revocationService.revokeUser(userDetails.getUuid());
         }
 
         ResponseCookie cookie = jwtUtils.getCleanJwtCookie();
@@ -177,17 +178,12 @@ public class AuthController {
     public ResponseEntity<?> refreshToken(HttpServletRequest request) {
         // 1. Get Refresh Token from Cookie
         String refreshToken = jwtUtils.getRefreshTokenFromCookies(request);
-        // 2. Find in DB and check expiration
-        return refreshTokenService.findByToken(refreshToken)
-                .map(refreshTokenService::verifyExpiration)
-                .map(RefreshTokenEntity::getUser)
-                .map(user -> {
-                    // 3. Generate a NEW Access Token Cookie
-                    ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(UserDetailsImpl.build(user));
-                    return ResponseEntity.ok()
-                            .header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
-                            .body(new MessageResponse("Token refreshed successfully!"));
-                })
-                .orElseThrow(() -> new GenericException(HttpStatus.UNAUTHORIZED, "Refresh token is not in database!"));
+        // 2. Find in DB and check expiration (concurrent refreshes of the same token share one lookup)
+        UserDetailsImpl userDetails = refreshTokenService.refresh(refreshToken);
+        // 3. Generate a NEW Access Token Cookie
+        ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(userDetails);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
+                .body(new MessageResponse("Token refreshed successfully!"));
     }
 }
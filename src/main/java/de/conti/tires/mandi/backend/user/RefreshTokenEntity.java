@@ -23,8 +23,11 @@ public class RefreshTokenEntity {
     @JoinColumn(name = "user_uuid", referencedColumnName = "uuid", nullable = false, unique = true)
     private UserEntity user;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    /**
+     * Hex encoded SHA-256 of the token - the token itself is only known by the client.
+     */
+    @Column(length = 64, columnDefinition = "char(64)", nullable = false, unique = true)
+    private String tokenHash;
 
     @Column(nullable = false)
     private Instant expiryDate;
@@ -7,15 +7,41 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, UUID> {
-    Optional<RefreshTokenEntity> findByToken(String token);
+
+    /**
+     * Finds a token including its user.
+     *
+     * @param tokenHash hex encoded SHA-256 of the token
+     * @return token
+     */
+    @Query("SELECT r FROM refreshtokens r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshTokenEntity> findByTokenHash(@Param("tokenHash") String tokenHash);
 
     @Modifying  // Required for DML operations
     @Transactional
-    @Query("DELETE FROM refreshtokens r WHERE r.user = :user")
-    void deleteByUser(@Param("user") UserEntity user);
+    @Query("DELETE FROM refreshtokens r WHERE r.user.uuid = :userUuid")
+    int deleteByUserUuid(@Param("userUuid") UUID userUuid);
+
+    /**
+     * Replaces the token of a user in place.
+     *
+     * @return number of updated rows - {@code 0} if the user has no token yet
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE refreshtokens r SET r.tokenHash = :tokenHash, r.expiryDate = :expiryDate " +
+            "WHERE r.user.uuid = :userUuid")
+    int rotate(@Param("userUuid") UUID userUuid, @Param("tokenHash") String tokenHash,
+               @Param("expiryDate") Instant expiryDate);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM refreshtokens r WHERE r.expiryDate < :now")
+    int deleteExpired(@Param("now") Instant now);
 }
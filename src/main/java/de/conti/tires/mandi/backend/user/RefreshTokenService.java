@@ -1,16 +1,36 @@
 package de.conti.tires.mandi.backend.user;
 
+import com.google.common.hash.Hashing;
 import de.conti.tires.mandi.backend.core.exception.GenericException;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Store of the refresh tokens (one per user).
+ * <p>
+ * Only the SHA-256 of a token is persisted, so lookups use a fixed size unique index and a leaked table does not
+ * reveal usable tokens. Logins rotate the user's row in place, expired rows are purged periodically.
+ */
+@Log4j2
 @Service
 public class RefreshTokenService {
     @Autowired
@@ -19,43 +39,131 @@ public class RefreshTokenService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Value("${spring.app.jwtRefreshExpirationMs}") // Default 24h if not set
     private Long refreshTokenDurationMs;
 
+    /**
+     * Refreshes in progress (token hash to resulting principal) - concurrent refreshes of the same token (e.g. from
+     * several browser tabs) wait for the first one instead of hitting the database again.
+     */
+    private final ConcurrentMap<String, CompletableFuture<UserDetailsImpl>> pendingRefreshes =
+            new ConcurrentHashMap<>();
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
     public Optional<RefreshTokenEntity> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        return token == null ? Optional.empty() : refreshTokenRepository.findByTokenHash(hash(token));
     }
 
     public RefreshTokenEntity verifyExpiration(RefreshTokenEntity token) {
+        // expired rows are removed by purgeExpired()
         if (token.getExpiryDate().isBefore(Instant.now())) {
-            refreshTokenRepository.delete(token);
             throw new GenericException(HttpStatus.UNAUTHORIZED, "Refresh token was expired. Please make a new login request");
         }
 
         return token;
     }
 
-    @Transactional
-    public void deleteByUserId(UUID userUuid) {
-        userRepository.findById(userUuid).ifPresent(refreshTokenRepository::deleteByUser);
+    /**
+     * Resolves the principal of a valid refresh token. Concurrent calls for the same token are coalesced.
+     *
+     * @param token refresh token sent by the client
+     * @return principal to issue a new access token for
+     * @throws GenericException token is unknown or expired
+     */
+    public UserDetailsImpl refresh(String token) throws GenericException {
+        if (token == null) {
+            throw new GenericException(HttpStatus.UNAUTHORIZED, "Refresh token is not in database!");
+        }
+
+        String tokenHash = hash(token);
+        CompletableFuture<UserDetailsImpl> own = new CompletableFuture<>();
+        CompletableFuture<UserDetailsImpl> pending = pendingRefreshes.putIfAbsent(tokenHash, own);
+        if (pending != null) {
+            log.debug("joining pending refresh");
+            return join(pending);
+        }
+
+        try {
+            own.complete(readOnlyTransaction.execute(status -> refreshTokenRepository.findByTokenHash(tokenHash)
+                    .map(this::verifyExpiration)
+                    .map(refreshToken -> UserDetailsImpl.build(refreshToken.getUser()))
+                    .orElseThrow(() -> new GenericException(HttpStatus.UNAUTHORIZED,
+                            "Refresh token is not in database!"))));
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+        } finally {
+            pendingRefreshes.remove(tokenHash, own);
+        }
+        return join(own);
     }
 
     @Transactional
-    public RefreshTokenEntity createRefreshToken(UUID userUuid) {
+    public void deleteByUserId(UUID userUuid) {
+        refreshTokenRepository.deleteByUserUuid(userUuid);
+    }
 
-        UserEntity user = userRepository.findById(userUuid)
-                .orElseThrow(() -> new RuntimeException("User not found with uuid: " + userUuid));
+    /**
+     * Creates a new refresh token for the user replacing the previous one.
+     * <p>
+     * Rotation is a single update of the user's row, only the first login of a user inserts a row. Not
+     * transactional on purpose: each statement commits on its own, so a failed concurrent insert can be retried as
+     * update.
+     *
+     * @param userUuid user to create the token for
+     * @return the new token - only its hash is stored
+     */
+    public String createRefreshToken(UUID userUuid) {
+        String token = UUID.randomUUID().toString();
+        String tokenHash = hash(token);
+        Instant expiryDate = Instant.now().plusMillis(refreshTokenDurationMs);
 
-        // 1. Delete existing token for this user to avoid unique constraint violation
-        refreshTokenRepository.deleteByUser(user);
+        if (refreshTokenRepository.rotate(userUuid, tokenHash, expiryDate) == 0) {
+            RefreshTokenEntity refreshToken = new RefreshTokenEntity();
+            refreshToken.setUser(userRepository.getReferenceById(userUuid));
+            refreshToken.setExpiryDate(expiryDate);
+            refreshToken.setTokenHash(tokenHash);
+            try {
+                refreshTokenRepository.saveAndFlush(refreshToken);
+            } catch (DataIntegrityViolationException e) {
+                // concurrent first login of the same user inserted the row meanwhile
+                refreshTokenRepository.rotate(userUuid, tokenHash, expiryDate);
+            }
+        }
+        return token;
+    }
 
-        RefreshTokenEntity refreshToken = new RefreshTokenEntity();
+    /**
+     * Deletes all expired tokens with a single statement.
+     */
+    @Scheduled(fixedDelayString = "${spring.app.refreshTokenPurgeIntervalMs:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        log.debug("{} expired refresh tokens purged", deleted);
+    }
 
-        refreshToken.setUser(user);
-        refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenDurationMs));
-        refreshToken.setToken(UUID.randomUUID().toString());
+    private static String hash(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    }
 
-        refreshToken = refreshTokenRepository.save(refreshToken);
-        return refreshToken;
+    private static UserDetailsImpl join(CompletableFuture<UserDetailsImpl> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
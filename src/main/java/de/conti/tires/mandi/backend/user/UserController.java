@@ -3,11 +3,16 @@ package de.conti.tires.mandi.backend.user;
 import de.conti.tires.mandi.backend.core.base.AbstractBaseController;
 import de.conti.tires.mandi.backend.core.validation.Validator;
 import de.conti.tires.mandi.backend.user.projection.UserDetails;
+import de.conti.tires.mandi.container.security.services.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 /**
  * Controller for laboratory management.
  */
@@ -20,6 +25,7 @@ public class UserController
     private final UserRepository repository;
     private final UserDetailsConverter detailsConverter;
     private final UserValidator validator;
+    private final PrincipalCache principalCache;
 
     @Override
     protected Class<UserEntity> getEntityClass()
@@ -45,6 +51,35 @@ public class UserController
         return detailsConverter;
     }
 
+    /**
+     * Loads list pages via a projection query instead of whole entities.
+     */
+    @Override
+    protected Slice<UserDetails> findFilteredProjections(String filter, Pageable pageable)
+    {
+        return repository.findFilteredDetails(filter, pageable).map(detailsConverter::convert);
+    }
+
+    /**
+     * Saves the user and evicts its cached principals (roles, language or active flag may have changed).
+     */
+    @Override
+    protected void saveEntity(UserEntity entity, boolean create, Map<String, Object> payload)
+    {
+        super.saveEntity(entity, create, payload);
+        principalCache.evict(entity.getUuid());
+    }
+
+    /**
+     * Saves the user and evicts its cached principals (roles, language or active flag may have changed).
+     */
+    @Override
+    protected void saveEntityInBulk(UserEntity entity, boolean create, Map<String, Object> payload)
+    {
+        super.saveEntityInBulk(entity, create, payload);
+        principalCache.evict(entity.getUuid());
+    }
+
     @Override
     protected Validator<UserEntity> getValidator()
     {
@@ -1,15 +1,14 @@
 package de.conti.tires.mandi.backend.user;
 
-import de.conti.tires.mandi.backend.core.exception.ApiException;
+import de.conti.tires.mandi.backend.core.jfr.ConversionEvent;
 import de.conti.tires.mandi.backend.user.projection.UserDetails;
+import de.conti.tires.mandi.backend.util.BeanMapper;
+import jakarta.persistence.Tuple;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.Optional;
-
 
 /**
  * Converter from entity to details projection.
@@ -18,7 +17,8 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserDetailsConverter implements Converter<UserEntity, UserDetails>
 {
-   private UserSummaryConverter summaryConverter = new UserSummaryConverter();
+   private static final BeanMapper<UserEntity, UserDetails> MAPPER =
+         BeanMapper.of(UserEntity.class, UserDetails.class);
 
    /**
     * Convert the source object of type {@code S} to target type {@code T}.
@@ -30,35 +30,45 @@ public class UserDetailsConverter implements Converter<UserEntity, UserDetails>
    @Override
    public UserDetails convert(UserEntity source)
    {
-      ModelMapper mapper = new ModelMapper();
-
-      UserDetails details = new UserDetails();
-      mapper.map(source, details);
-
-      Optional.ofNullable(source.getCreatedBy())
-            .ifPresent(user -> details.setCreatedBy(summaryConverter.convert(user)));
-      Optional.ofNullable(source.getLastModifiedBy())
-            .ifPresent(user -> details.setLastModifiedBy(summaryConverter.convert(user)));
-
-      return details;
-   }
-
-   private <T> T buildDTO(Object entity, Class<T> type, ModelMapper mapper)
-   {
-      if (entity == null)
+      ConversionEvent event = ConversionEvent.start(UserDetailsConverter.class, UserEntity.class);
+      try
+      {
+         // audit users are mapped to UserSummary by the nested plan
+         return MAPPER.map(source);
+      }
+      finally
       {
-         return null;
+         ConversionEvent.end(event);
       }
+   }
 
+   /**
+    * Converts a row of {@link UserRepository#findFilteredDetails}.
+    *
+    * @param row projection query row
+    * @return the converted object
+    */
+   public UserDetails convert(@NonNull Tuple row)
+   {
+      ConversionEvent event = ConversionEvent.start(UserDetailsConverter.class, Tuple.class);
       try
       {
-         T dto = type.getConstructor().newInstance();
-         mapper.map(entity, dto);
-         return dto;
+         return convertRow(row);
       }
-      catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e)
+      finally
       {
-         throw new ApiException(e);
+         ConversionEvent.end(event);
       }
    }
+
+   private UserDetails convertRow(Tuple row)
+   {
+      UserDetails details = new UserDetails();
+      details.applyAuditColumns(row);
+      details.setUserName(row.get("userName", String.class));
+      details.setFirstname(row.get("firstname", String.class));
+      details.setLastname(row.get("lastname", String.class));
+      details.setEmail(row.get("email", String.class));
+      return details;
+   }
 }
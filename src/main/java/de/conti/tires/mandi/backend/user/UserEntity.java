@@ -2,6 +2,7 @@ package de.conti.tires.mandi.backend.user;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import de.conti.tires.mandi.backend.core.base.AuditBaseEntity;
+import de.conti.tires.mandi.backend.core.base.SearchField;
 import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -27,6 +28,7 @@ public class UserEntity extends AuditBaseEntity implements Serializable {
     @NotBlank
     @Size(max = 20)
     @Column(name = "username")
+    @SearchField
     private String userName;
 
 //    @NotBlank
@@ -42,9 +44,11 @@ public class UserEntity extends AuditBaseEntity implements Serializable {
     private String password;
 
     @Column(length = 64)
+    @SearchField
     private String firstname;
 
     @Column(length = 64)
+    @SearchField
     private String lastname;
 
     /**
@@ -53,6 +57,7 @@ public class UserEntity extends AuditBaseEntity implements Serializable {
      * This field should only be altered by an administrator
      */
     @Column(length = 1024)
+    @SearchField
     private String email;
 
     public UserEntity(String userName, String password, String firstname, String lastname, String email) {
@@ -1,16 +1,39 @@
 package de.conti.tires.mandi.backend.user;
 
-import de.conti.tires.mandi.backend.core.base.BaseEntityRepository;
+import de.conti.tires.mandi.backend.core.base.AuditBaseEntityRepository;
+import de.conti.tires.mandi.backend.user.projection.UserDetails;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends BaseEntityRepository<UserEntity> {
+public interface UserRepository extends AuditBaseEntityRepository<UserEntity> {
 
     Optional<UserEntity> findByUserName(String username);
 
     Boolean existsByUserName(String username);
 
     //Boolean existsByEmail(String email);
+
+    /**
+     * Projection variant of {@link #findFilteredSlice(String, Pageable)} selecting the {@link UserDetails} columns
+     * only (no roles and laboratories) - read by {@link UserDetailsConverter#convert(Tuple)}.
+     *
+     * @param filter   upper case filter text
+     * @param pageable page request
+     * @return slice of rows
+     */
+    @Query(
+            "SELECT " + AUDIT_COLUMNS + ", " +
+                    "A.userName AS userName, A.firstname AS firstname, A.lastname AS lastname, A.email AS email " +
+                    "FROM #{#entityName} A " + AUDIT_JOINS + FILTER_CONDITION
+    )
+    Slice<Tuple> findFilteredDetails(
+            String filter,
+            Pageable pageable
+    );
 }
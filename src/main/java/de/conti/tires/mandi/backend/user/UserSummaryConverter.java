@@ -1,18 +1,18 @@
 package de.conti.tires.mandi.backend.user;
 
+import de.conti.tires.mandi.backend.core.jfr.ConversionEvent;
 import de.conti.tires.mandi.backend.user.projection.UserSummary;
-import org.modelmapper.ModelMapper;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
 
 
 /**
  * Converter for {@link UserEntity} to {@link UserSummary}.
  */
+@Component
 public class UserSummaryConverter implements Converter<UserEntity, UserSummary>
 {
-   private final ModelMapper modelMapper = new ModelMapper();
-
    /**
     * Convert the source object of type {@code S} to target type {@code T}.
     *
@@ -23,8 +23,14 @@ public class UserSummaryConverter implements Converter<UserEntity, UserSummary>
    @Override
    public UserSummary convert(@NonNull UserEntity source)
    {
-      UserSummary summary = new UserSummary();
-      modelMapper.map(source, summary);
-      return summary;
+      ConversionEvent event = ConversionEvent.start(UserSummaryConverter.class, UserEntity.class);
+      try
+      {
+         return UserSummary.of(source);
+      }
+      finally
+      {
+         ConversionEvent.end(event);
+      }
    }
 }
@@ -2,6 +2,7 @@ package de.conti.tires.mandi.backend.user.projection;
 
 import de.conti.tires.mandi.backend.user.UserEntity;
 import de.conti.tires.mandi.backend.util.StringUtils;
+import jakarta.persistence.Tuple;
 import lombok.*;
 
 import java.util.UUID;
@@ -49,6 +50,21 @@ public class UserSummary implements UserSummaryInfo
       return user == null ? null : new UserSummary(user.getUuid(), user.getFirstname(), user.getLastname(), user.getEmail());
    }
 
+   /**
+    * Creates a summary from a projection query row - returning {@code null} if the user's UUID is {@code null}.
+    *
+    * @param row    query result row
+    * @param prefix alias prefix of the user columns, e.g. {@code createdBy} for {@code createdByUuid},
+    *               {@code createdByFirstname}, {@code createdByLastname} and {@code createdByEmail}
+    * @return resulting DTO
+    */
+   public static UserSummary of(@NonNull Tuple row, @NonNull String prefix)
+   {
+      UUID uuid = row.get(prefix + "Uuid", UUID.class);
+      return uuid == null ? null : new UserSummary(uuid, row.get(prefix + "Firstname", String.class),
+            row.get(prefix + "Lastname", String.class), row.get(prefix + "Email", String.class));
+   }
+
    /**
     * Creates a readable name (String) for a given {@link UserEntity}.
     *
@@ -0,0 +1,231 @@
+package de.conti.tires.mandi.backend.util;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Precompiled, thread safe property copy plan from a source to a target bean type.
+ * <p>
+ * Replaces per call {@link org.modelmapper.ModelMapper} instances for entity to projection conversion. A plan is
+ * built once per type pair from {@link PropertyAccessor}s and maps every writable target property from the readable
+ * source property with the same name if the (raw) types are compatible. Properties of bean types (e.g. an entity
+ * reference to a summary DTO) are mapped with a nested plan, {@code null} stays {@code null}.
+ *
+ * @param <S> source type
+ * @param <T> target type
+ */
+public final class BeanMapper<S, T>
+{
+   private static final Map<TypePair, BeanMapper<?, ?>> MAPPERS = new ConcurrentHashMap<>();
+
+   /**
+    * Source type.
+    */
+   @Getter
+   private final Class<S> sourceType;
+   /**
+    * Target type.
+    */
+   @Getter
+   private final Class<T> targetType;
+
+   private final MethodHandle constructor;
+   private final List<PropertyMapping> mappings;
+
+   private BeanMapper(Class<S> sourceType, Class<T> targetType)
+   {
+      this.sourceType = sourceType;
+      this.targetType = targetType;
+      this.constructor = findConstructor(targetType);
+
+      Map<String, PropertyAccessor> sourceProperties = PropertyAccessor.forClass(sourceType);
+      List<PropertyMapping> result = new ArrayList<>();
+      for (PropertyAccessor target : PropertyAccessor.forClass(targetType).values())
+      {
+         PropertyAccessor source = sourceProperties.get(target.getName());
+         if (!target.isWritable() || source == null || !source.isReadable())
+         {
+            continue;
+         }
+
+         if (wrap(target.getType()).isAssignableFrom(wrap(source.getType())))
+         {
+            result.add(new PropertyMapping(source, target, false));
+         }
+         else if (isBean(source.getType()) && isBean(target.getType()))
+         {
+            result.add(new PropertyMapping(source, target, true));
+         }
+      }
+      this.mappings = Collections.unmodifiableList(result);
+   }
+
+   /**
+    * Returns the (cached) mapper for the given type pair. The plan is built on first request.
+    *
+    * @param sourceType source class (no Hibernate proxy class - proxies are accepted as source instances)
+    * @param targetType target class - needs a public no argument constructor
+    * @param <S>        source type
+    * @param <T>        target type
+    * @return mapper
+    * @throws IllegalArgumentException target can not be instantiated
+    */
+   @SuppressWarnings("unchecked")
+   public static <S, T> BeanMapper<S, T> of(@NonNull Class<S> sourceType, @NonNull Class<T> targetType)
+         throws IllegalArgumentException
+   {
+      return (BeanMapper<S, T>) MAPPERS.computeIfAbsent(new TypePair(sourceType, targetType),
+            pair -> new BeanMapper<>((Class<S>) pair.getSource(), (Class<T>) pair.getTarget()));
+   }
+
+   /**
+    * Creates a new target instance and copies all mapped properties.
+    *
+    * @param source source bean, {@code null} safe
+    * @return new target instance or {@code null} if the source is {@code null}
+    */
+   public T map(S source)
+   {
+      if (source == null)
+      {
+         return null;
+      }
+
+      T target = newTarget();
+      map(source, target);
+      return target;
+   }
+
+   /**
+    * Copies all mapped properties from the source to the given target.
+    *
+    * @param source source bean
+    * @param target target bean
+    * @throws IllegalStateException a getter or setter threw an exception
+    */
+   public void map(@NonNull S source, @NonNull T target) throws IllegalStateException
+   {
+      for (PropertyMapping mapping : mappings)
+      {
+         try
+         {
+            mapping.getTarget().set(target, mapping.convert(mapping.getSource().get(source)));
+         }
+         catch (NoSuchMethodException | InvocationTargetException e)
+         {
+            throw new IllegalStateException("could not map property " + mapping.getTarget().getName() + " of "
+                  + targetType.getSimpleName(), e);
+         }
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private T newTarget()
+   {
+      try
+      {
+         Object instance = (Object) constructor.invokeExact();
+         return (T) instance;
+      }
+      catch (RuntimeException | Error e)
+      {
+         throw e;
+      }
+      catch (Throwable e)
+      {
+         throw new IllegalStateException("could not instantiate " + targetType.getName(), e);
+      }
+   }
+
+   private static MethodHandle findConstructor(Class<?> type)
+   {
+      try
+      {
+         return MethodHandles.publicLookup()
+               .findConstructor(type, MethodType.methodType(void.class))
+               .asType(MethodType.methodType(Object.class));
+      }
+      catch (NoSuchMethodException | IllegalAccessException e)
+      {
+         throw new IllegalArgumentException(type.getName() + " has no public no argument constructor", e);
+      }
+   }
+
+   private static Class<?> wrap(Class<?> type)
+   {
+      return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+   }
+
+   /**
+    * @return {@code true} if the type is a concrete application bean (no JDK, enum, array or abstract type)
+    */
+   private static boolean isBean(Class<?> type)
+   {
+      return !type.isPrimitive() && !type.isArray() && !type.isEnum() && !type.isInterface()
+            && !Modifier.isAbstract(type.getModifiers()) && !type.getName().startsWith("java");
+   }
+
+   /**
+    * Mapping of a single property.
+    */
+   private static final class PropertyMapping
+   {
+      @Getter
+      private final PropertyAccessor source;
+      @Getter
+      private final PropertyAccessor target;
+      private final boolean nested;
+
+      /**
+       * Nested mapper - resolved on first use to support cyclic type graphs.
+       */
+      private volatile BeanMapper<Object, Object> nestedMapper;
+
+      private PropertyMapping(PropertyAccessor source, PropertyAccessor target, boolean nested)
+      {
+         this.source = source;
+         this.target = target;
+         this.nested = nested;
+      }
+
+      @SuppressWarnings("unchecked")
+      Object convert(Object value)
+      {
+         if (!nested || value == null)
+         {
+            return value;
+         }
+
+         BeanMapper<Object, Object> mapper = nestedMapper;
+         if (mapper == null)
+         {
+            mapper = (BeanMapper<Object, Object>) of(source.getType(), target.getType());
+            nestedMapper = mapper;
+         }
+         return mapper.map(value);
+      }
+   }
+
+   /**
+    * Cache key.
+    */
+   @Value
+   private static class TypePair
+   {
+      private Class<?> source;
+      private Class<?> target;
+   }
+}
@@ -12,6 +12,7 @@ import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.beanutils.PropertyUtils;
 
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import java.util.function.BiConsumer;
@@ -22,6 +23,20 @@ import java.util.stream.Stream;
  * Cloning related functionality.
  */
 public class CloneUtils {
+    /**
+     * No argument constructors per entity class.
+     */
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                return type.getConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(type.getName() + " has no public no argument constructor", e);
+            }
+        }
+    };
+
     /**
      * Makes a shallow copy of an object using it property getters/setters.
      * No deep copy - references are copied instead of cloned.
@@ -41,6 +56,42 @@ public class CloneUtils {
         }
     }
 
+    /**
+     * Makes a partial shallow copy of a {@link BaseEntity}: only uuid, version and the given properties are copied
+     * (with their cached {@link PropertyAccessor}s), all other properties keep the defaults of the no argument
+     * constructor. Unknown or read only properties are ignored.
+     * <p>
+     * Meant as lightweight previous state of an update (e.g. for {@link Validator}s and
+     * {@link de.conti.tires.mandi.backend.core.base.EntityDiff}), which only compare the changed properties. No
+     * collections or unrelated lazy references are touched.
+     *
+     * @param source     source entity
+     * @param properties names of the properties to copy, usually the keys of the change data
+     * @param <E>        entity type (Hibernate proxies will be unwrapped)
+     * @return partial copy
+     * @throws IllegalArgumentException object could not be copied
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends BaseEntity> E partialBeanCopy(@NonNull E source, @NonNull Collection<String> properties)
+            throws IllegalArgumentException {
+        Class<E> type = HibernateUtils.unproxyClass(source);
+        Map<String, PropertyAccessor> accessors = PropertyAccessor.forClass(type);
+        try {
+            E copy = (E) CONSTRUCTORS.get(type).newInstance();
+            copy.setUuid(source.getUuid());
+            copy.setVersion(source.getVersion());
+            for (String property : properties) {
+                PropertyAccessor accessor = accessors.get(property);
+                if (accessor != null && accessor.isReadable() && accessor.isWritable()) {
+                    accessor.set(copy, accessor.get(source));
+                }
+            }
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("copying " + type.getName() + " failed", e);
+        }
+    }
+
     /**
      * Makes a shallow copy of an {@link AuditBaseEntity} using it property getters/setters.
      * No deep copy - references are copied instead of cloned. But keep in mind that Hibernate proxies will be called.
@@ -0,0 +1,203 @@
+package de.conti.tires.mandi.backend.util;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Precompiled getter/setter access to a single bean property.
+ * <p>
+ * Instances are built once per class via bean introspection and hold {@link MethodHandle}s adapted to
+ * {@code (Object)Object} and {@code (Object,Object)void}, so reading and writing a property does not go through
+ * reflective lookups like {@link org.apache.commons.beanutils.PropertyUtils} does on every call.
+ */
+public final class PropertyAccessor
+{
+   private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+   private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+   /**
+    * Maps a bean class to its property accessors (property name to accessor).
+    */
+   private static final Map<Class<?>, Map<String, PropertyAccessor>> ACCESSORS = new ConcurrentHashMap<>();
+
+   /**
+    * Property name.
+    */
+   @Getter
+   private final String name;
+   /**
+    * Property type as declared by the getter or setter.
+    */
+   @Getter
+   private final Class<?> type;
+
+   private final MethodHandle getter;
+   private final MethodHandle setter;
+
+   private PropertyAccessor(String name, Class<?> type, MethodHandle getter, MethodHandle setter)
+   {
+      this.name = name;
+      this.type = type;
+      this.getter = getter;
+      this.setter = setter;
+   }
+
+   /**
+    * Returns the accessors of all properties of the given class. The result is computed once per class and cached.
+    *
+    * @param type bean class (Hibernate proxy classes should be unwrapped before)
+    * @return unmodifiable map of property name to accessor
+    * @throws IllegalArgumentException class could not be introspected
+    */
+   public static Map<String, PropertyAccessor> forClass(@NonNull Class<?> type) throws IllegalArgumentException
+   {
+      return ACCESSORS.computeIfAbsent(type, PropertyAccessor::introspect);
+   }
+
+   /**
+    * Returns the accessor of a single property.
+    *
+    * @param type     bean class
+    * @param property property name
+    * @return accessor or {@code null} if the class does not know such a property
+    */
+   public static PropertyAccessor forProperty(@NonNull Class<?> type, @NonNull String property)
+   {
+      return forClass(type).get(property);
+   }
+
+   private static Map<String, PropertyAccessor> introspect(Class<?> type)
+   {
+      try
+      {
+         BeanInfo beanInfo = Introspector.getBeanInfo(type);
+         MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+         Map<String, PropertyAccessor> result = new LinkedHashMap<>();
+
+         for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors())
+         {
+            Class<?> propertyType = descriptor.getPropertyType();
+            if (propertyType == null)
+            {
+               // indexed properties only
+               continue;
+            }
+            result.put(descriptor.getName(), new PropertyAccessor(descriptor.getName(), propertyType,
+                  unreflect(lookup, descriptor.getReadMethod(), GETTER_TYPE),
+                  unreflect(lookup, descriptor.getWriteMethod(), SETTER_TYPE)));
+         }
+         return Collections.unmodifiableMap(result);
+      }
+      catch (IntrospectionException e)
+      {
+         throw new IllegalArgumentException("could not introspect " + type.getName(), e);
+      }
+   }
+
+   private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method, MethodType type)
+   {
+      if (method == null)
+      {
+         return null;
+      }
+
+      try
+      {
+         return lookup.unreflect(method).asType(type);
+      }
+      catch (IllegalAccessException e)
+      {
+         // e.g. public method declared by a non public class - behaves like a missing accessor
+         return null;
+      }
+   }
+
+   /**
+    * @return {@code true} if the property has an accessible getter
+    */
+   public boolean isReadable()
+   {
+      return getter != null;
+   }
+
+   /**
+    * @return {@code true} if the property has an accessible setter
+    */
+   public boolean isWritable()
+   {
+      return setter != null;
+   }
+
+   /**
+    * Reads the property value.
+    *
+    * @param bean bean to read from
+    * @return property value
+    * @throws NoSuchMethodException     property is not readable
+    * @throws InvocationTargetException the getter threw an exception
+    */
+   public Object get(@NonNull Object bean) throws NoSuchMethodException, InvocationTargetException
+   {
+      if (getter == null)
+      {
+         throw new NoSuchMethodException("property " + name + " is not readable");
+      }
+
+      try
+      {
+         return (Object) getter.invokeExact(bean);
+      }
+      catch (Error e)
+      {
+         throw e;
+      }
+      catch (Throwable e)
+      {
+         throw new InvocationTargetException(e);
+      }
+   }
+
+   /**
+    * Writes the property value.
+    *
+    * @param bean  bean to write to
+    * @param value value to set (must be {@code null} or assignable to {@link #getType()})
+    * @throws NoSuchMethodException     property is not writable
+    * @throws InvocationTargetException the setter threw an exception
+    */
+   public void set(@NonNull Object bean, Object value) throws NoSuchMethodException, InvocationTargetException
+   {
+      if (setter == null)
+      {
+         throw new NoSuchMethodException("property " + name + " is not writable");
+      }
+
+      try
+      {
+         setter.invokeExact(bean, value);
+      }
+      catch (Error e)
+      {
+         throw e;
+      }
+      catch (Throwable e)
+      {
+         throw new InvocationTargetException(e);
+      }
+   }
+}
@@ -3,8 +3,12 @@ package de.conti.tires.mandi.container.config;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling
+@EnableJpaAuditing(auditorAwareRef = "auditorAwareResolver")
 public class AppConfig {
 
     @Bean
@@ -3,6 +3,7 @@ package de.conti.tires.mandi.container.config;
 public class AppConstants {
     public static final String PAGE_NUMBER = "0";
     public static final String PAGE_SIZE = "50";
+    public static final int DEFAULT_PAGE_SIZE = Integer.parseInt(PAGE_SIZE);
     public static final String SORT_CATEGORIES_BY = "categoryId";
     public static final String SORT_PRODUCTS_BY = "productId";
     public static final String SORT_DIR = "asc";
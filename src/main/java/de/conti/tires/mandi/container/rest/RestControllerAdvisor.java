@@ -6,7 +6,6 @@ import de.conti.tires.mandi.backend.core.validation.ExceptionMessage;
 import de.conti.tires.mandi.backend.core.validation.ValidationErrors;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.http.HttpStatus;
@@ -22,7 +21,6 @@ import org.springframework.web.method.annotation.MethodArgumentConversionNotSupp
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.server.MethodNotAllowedException;
 
-import java.util.Optional;
 import java.util.stream.Stream;
 
 
@@ -39,7 +37,7 @@ public class RestControllerAdvisor
    private final MandiConfig mandiConfig;
 
    /**
-    * Component constructor.
+    * Component constructor. Lightweight {@link ApiException}s capture their stack trace only if it is exposed.
     *
     * @param mandiConfig required service/component
     */
@@ -47,6 +45,7 @@ public class RestControllerAdvisor
    public RestControllerAdvisor(@NonNull MandiConfig mandiConfig)
    {
       this.mandiConfig = mandiConfig;
+      ApiException.setStackTraceEnabled(mandiConfig.isExposeApiMessageDtoStacktrace());
    }
 
    /**
@@ -98,13 +97,21 @@ public class RestControllerAdvisor
    @ResponseStatus(HttpStatus.BAD_REQUEST)
    public ApiMessageDto handleInvalidReferenceException(@NonNull InvalidReferenceException exception)
    {
-      ValidationErrors errors = new ValidationErrors();
-      Optional.ofNullable(exception.getInvalidCollectionReferences()).ifPresent(
-            error -> errors.addGlobalError("error.invalidref.collection", StringUtils.join(error.toArray(), ", ")));
-      Optional.ofNullable(exception.getInvalidPropertyReferences()).ifPresent(error -> error
-            .forEach(err -> errors.addFieldError(err.getProperty(), "error.invalidref.single", err.getUuid())));
+      return createApiMessage(exception.toValidationErrors(), exception);
+   }
 
-      return createApiMessage(errors, exception);
+   /**
+    * Handles per item errors of bulk operations.
+    *
+    * @param exception exception to handle
+    * @return error object holding the number of failed items as global message and the messages per failed item
+    */
+   @ExceptionHandler(BulkValidationException.class)
+   @ResponseStatus(HttpStatus.BAD_REQUEST)
+   public BulkApiMessageDto handleBulkValidationException(@NonNull BulkValidationException exception)
+   {
+      log.error(exception);
+      return new BulkApiMessageDto(exception, mandiConfig.isExposeApiMessageDtoStacktrace());
    }
 
 //   /**
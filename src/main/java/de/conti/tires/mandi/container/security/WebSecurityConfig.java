@@ -1,14 +1,11 @@
 package de.conti.tires.mandi.container.security;
 
-import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
-import de.conti.tires.mandi.backend.laboratory.LaboratoryRepository;
-import de.conti.tires.mandi.backend.user.*;
+import de.conti.tires.mandi.backend.user.AppRole;
 import de.conti.tires.mandi.container.security.jwt.AuthEntryPointJwt;
 import de.conti.tires.mandi.container.security.jwt.AuthTokenFilter;
 import de.conti.tires.mandi.container.security.services.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,9 +19,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import java.time.LocalDateTime;
-import java.util.Set;
-
 @Configuration
 @EnableWebSecurity
 //@EnableMethodSecurity
@@ -101,6 +95,7 @@ public class WebSecurityConfig {
                                         .requestMatchers(baseUrl +"/api/users/**").authenticated()
                                         .requestMatchers(baseUrl +"/api/labs/**").authenticated()
                                         .requestMatchers(baseUrl +"/api/autoexpenses/**").authenticated()
+                                        .requestMatchers(baseUrl +"/api/metrics/**").hasAuthority(AppRole.ADMIN.name())
                                 // this must be the last
                                 .requestMatchers(baseUrl + "/**").permitAll()
                 );
@@ -135,124 +130,4 @@ public class WebSecurityConfig {
 //        };
 //    }
 
-    @Bean
-    public CommandLineRunner initData(RoleRepository roleRepository, UserRepository userRepository,
-                                      PasswordEncoder passwordEncoder, LaboratoryRepository laboratoryRepository) {
-        return args -> {
-            // Create users if not already present
-            if (!userRepository.existsByUserName("user")) {
-                UserEntity user1 = new UserEntity(
-                        "user",
-                        passwordEncoder.encode("p"),
-                        "user",
-                        "UserLastName",
-                        "user@localhost");
-                userRepository.save(user1);
-            }
-
-            if (!userRepository.existsByUserName("seller1")) {
-                UserEntity seller1 = new UserEntity(
-                        "seller1",
-                        passwordEncoder.encode("s"),
-                        "seller",
-                        "SellerLastName",
-                        "seller1@localhost");
-                userRepository.save(seller1);
-            }
-
-            if (!userRepository.existsByUserName("admin")) {
-                UserEntity admin = new UserEntity(
-                        "admin",
-                        passwordEncoder.encode("a"),
-                        "Admin",
-                        "Boss",
-                        "admin@localhost");
-                userRepository.save(admin);
-            }
-
-            // Retrieve or create roles
-            roleRepository.findByRoleName(AppRole.USER)
-                    .orElseGet(() -> {
-                        RoleEntity newUserRole = new RoleEntity(AppRole.USER);
-                        return roleRepository.save(newUserRole);
-                    });
-
-            roleRepository.findByRoleName(AppRole.SELLER)
-                    .orElseGet(() -> {
-                        RoleEntity newSellerRole = new RoleEntity(AppRole.SELLER);
-                        return roleRepository.save(newSellerRole);
-                    });
-
-            roleRepository.findByRoleName(AppRole.ADMIN)
-                    .orElseGet(() -> {
-                        RoleEntity newAdminRole = new RoleEntity(AppRole.ADMIN);
-                        return roleRepository.save(newAdminRole);
-                    });
-
-            // Update roles for existing users
-            userRepository.findByUserName("user1").ifPresent(user -> {
-                user.setRoles(Set.of(roleRepository.findByRoleName(AppRole.USER).orElseThrow()));
-                //user.setLanguage("de-DE");
-                user.setLanguage("en-US");
-                userRepository.save(user);
-            });
-
-            userRepository.findByUserName("seller1").ifPresent(seller -> {
-                seller.setRoles(Set.of(roleRepository.findByRoleName(AppRole.SELLER).orElseThrow()));
-                userRepository.save(seller);
-            });
-
-            userRepository.findByUserName("admin").ifPresent(admin -> {
-                admin.setRoles(Set.of(
-                        roleRepository.findByRoleName(AppRole.USER).orElseThrow(),
-                        roleRepository.findByRoleName(AppRole.SELLER).orElseThrow(),
-                        roleRepository.findByRoleName(AppRole.ADMIN).orElseThrow())
-                );
-                userRepository.save(admin);
-            });
-
-            for(int k = 0; k < 100; k++) {
-                UserEntity user = new UserEntity(
-                        "x_" + k,
-                        passwordEncoder.encode("p"),
-                        "x_fn_" + k,
-                        "x_ln_" + k,
-                        "user@localhost_" + k);
-                userRepository.save(user);
-            }
-
-            UserEntity user = new UserEntity(
-                    "x_" + 99999,
-                    passwordEncoder.encode("p"),
-                    "x_fn_" + 0,
-                    "x_ln_" + 0,
-                    "user@localhost_" + 0);
-            userRepository.save(user);
-
-            UserEntity admin = userRepository.findByUserName("admin").orElse(null);
-
-            if (!laboratoryRepository.existsByName("Stöcken Mixing Lab")) {
-                LaboratoryEntity entity = new LaboratoryEntity();
-                entity.setName("Stöcken Mixing Lab");
-                entity.setShortName("CU-MIX");
-                entity.setLabDate(LocalDateTime.of(2021, 1, 1, 0, 0));
-                entity.setLabSwitchOn(true);
-                entity.setLabSwitchOff(false);
-                entity.setLabUser(admin);
-                laboratoryRepository.save(entity);
-            }
-
-            if (!laboratoryRepository.existsByName("GEP Mixing Lab")) {
-                LaboratoryEntity entity = new LaboratoryEntity();
-                entity.setName("GEP Mixing Lab");
-                entity.setShortName("GEP-MIX");
-                entity.setLabDate(LocalDateTime.of(2021, 1, 1, 0, 0));
-                entity.setLabSwitchOn(true);
-                entity.setLabSwitchOff(false);
-                entity.setLabUser(admin);
-                laboratoryRepository.save(entity);
-            }
-        };
-    }
-
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package de.conti.tires.mandi.container.security.jwt;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event of {@link AuthTokenFilter}: authenticating a request from its access token.
+ */
+@Name("de.conti.tires.mandi.AuthFilter")
+@Label("Auth Token Filter")
+@Category({ "Mandi", "Security" })
+@StackTrace(false)
+public class AuthFilterEvent extends Event {
+    @Label("Request URI")
+    public String uri;
+
+    @Label("Token Present")
+    public boolean tokenPresent;
+
+    @Label("Authenticated")
+    public boolean authenticated;
+
+    @Label("Revoked")
+    @Description("Token was valid but revoked by sign out")
+    public boolean revoked;
+}
@@ -1,6 +1,10 @@
 package de.conti.tires.mandi.container.security.jwt;
 
+import de.conti.tires.mandi.backend.user.AccessTokenRevocationService;
+import de.conti.tires.mandi.container.security.services.PrincipalCache;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
 import de.conti.tires.mandi.container.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,12 +14,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Date;
 
 @Component
 public class AuthTokenFilter extends OncePerRequestFilter {
@@ -25,32 +29,53 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private AccessTokenRevocationService revocationService;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         logger.debug("AuthTokenFilter called for URI: {}", request.getRequestURI());
+        AuthFilterEvent event = new AuthFilterEvent();
+        event.begin();
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            event.tokenPresent = jwt != null;
+            Claims claims = jwt == null ? null : jwtUtils.verifyJwtToken(jwt);
+            if (claims != null) {
+                String username = claims.getSubject();
+                Date issuedAt = JwtUtils.getIssuedAt(claims);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails,
-                                null,
-                                userDetails.getAuthorities());
-                logger.debug("Roles from JWT: {}", userDetails.getAuthorities());
+                UserDetailsImpl userDetails = principalCache.get(username, issuedAt,
+                        () -> (UserDetailsImpl) userDetailsService.loadUserByUsername(username));
+                if (revocationService.isRevoked(userDetails.getUuid(), issuedAt)) {
+                    event.revoked = true;
+                    logger.debug("JWT of user {} is revoked", username);
+                } else {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails,
+                                    null,
+                                    userDetails.getAuthorities());
+                    logger.debug("Roles from JWT: {}", userDetails.getAuthorities());
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    event.authenticated = true;
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
         }
+        if (event.shouldCommit()) {
+            event.uri = request.getRequestURI();
+            event.commit();
+        }
 
         filterChain.doFilter(request, response);
     }
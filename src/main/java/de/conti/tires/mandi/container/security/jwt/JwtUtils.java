@@ -1,12 +1,20 @@
 package de.conti.tires.mandi.container.security.jwt;
 
 import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -17,13 +25,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    /**
+     * Claim holding the issue time in milliseconds - {@code iat} has a precision of seconds only.
+     */
+    public static final String ISSUED_AT_MILLIS = "iat_ms";
+
     @Value("${spring.app.jwtSecret}")
     private String jwtSecret;
 
@@ -48,6 +62,34 @@ public class JwtUtils {
     @Value("${JWT_PATH}")
     private String jwtPath;
 
+    @Value("${spring.app.jwtVerifiedCacheSize:10000}")
+    private long jwtVerifiedCacheSize;
+
+    /**
+     * HMAC key built once from {@link #jwtSecret}.
+     */
+    private SecretKey key;
+
+    /**
+     * Immutable, thread safe parser verifying with {@link #key}.
+     */
+    private JwtParser parser;
+
+    /**
+     * Recently verified tokens: SHA-256 of the token to its claims.
+     */
+    private Cache<HashCode, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parser().verifyWith(key).build();
+        verifiedTokens = CacheBuilder.newBuilder()
+                .maximumSize(jwtVerifiedCacheSize)
+                .expireAfterWrite(jwtExpirationMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
     public String getJwtFromCookies(HttpServletRequest request) {
         Cookie cookie = WebUtils.getCookie(request, jwtCookie);
         if (cookie != null) {
@@ -100,38 +142,91 @@ public class JwtUtils {
     }
 
     public String generateTokenFromUsername(String username) {
+        Date now = new Date();
         return Jwts.builder()
                 .subject(username)
-                .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key())
+                .issuedAt(now)
+                .claim(ISSUED_AT_MILLIS, now.getTime())
+                .expiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(key)
                 .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build().parseSignedClaims(token)
-                .getPayload().getSubject();
+    /**
+     * Verifies the token once and returns its claims. Tokens verified before are answered from a small LRU keyed by
+     * the token's SHA-256 hash until they expire.
+     *
+     * @param token signed JWT
+     * @return claims of the token or {@code null} if it is invalid or expired
+     */
+    public Claims verifyJwtToken(String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        Claims claims = null;
+        try {
+            claims = verify(token, event);
+            return claims;
+        } finally {
+            if (event.shouldCommit()) {
+                event.valid = claims != null;
+                event.commit();
+            }
+        }
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
+    private Claims verify(String token, JwtVerificationEvent event) {
+        if (token == null || token.isEmpty()) {
+            logger.error("JWT claims string is empty");
+            return null;
+        }
+
+        HashCode hash = Hashing.sha256().hashString(token, StandardCharsets.UTF_8);
+        Claims claims = verifiedTokens.getIfPresent(hash);
+        if (claims != null) {
+            event.cached = true;
+            if (claims.getExpiration() == null || claims.getExpiration().after(new Date())) {
+                return claims;
+            }
+            verifiedTokens.invalidate(hash);
+            logger.error("JWT token is expired: {}", claims.getExpiration());
+            return null;
+        }
 
-    public boolean validateJwtToken(String authToken) {
         try {
-            Jwts.parser().verifyWith((SecretKey) key()).build().parseSignedClaims(authToken);
-            return true;
+            claims = parser.parseSignedClaims(token).getPayload();
+            verifiedTokens.put(hash, claims);
+            return claims;
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (SignatureException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Returns the issue time of a token in milliseconds precision.
+     *
+     * @param claims verified claims
+     * @return value of {@link #ISSUED_AT_MILLIS} or {@code iat} for tokens without it
+     */
+    public static Date getIssuedAt(Claims claims) {
+        Long millis = claims.get(ISSUED_AT_MILLIS, Long.class);
+        return millis == null ? claims.getIssuedAt() : new Date(millis);
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        Claims claims = verifyJwtToken(token);
+        return claims == null ? null : claims.getSubject();
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return verifyJwtToken(authToken) != null;
     }
 }
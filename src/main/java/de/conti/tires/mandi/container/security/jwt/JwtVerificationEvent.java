@@ -0,0 +1,19 @@
+package de.conti.tires.mandi.container.security.jwt;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event of {@link JwtUtils#verifyJwtToken(String)}.
+ */
+@Name("de.conti.tires.mandi.JwtVerification")
+@Label("JWT Verification")
+@Category({ "Mandi", "Security" })
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+    @Label("Cached")
+    @Description("Token was verified before")
+    public boolean cached;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,93 @@
+package de.conti.tires.mandi.container.security.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the principals resolved by the {@link de.conti.tires.mandi.container.security.jwt.AuthTokenFilter}.
+ * <p>
+ * Entries are keyed by username and token issue time and live at most as long as an access token, so a new token
+ * (e.g. after a refresh) always reloads the user. Writes to a user must call {@link #evict(UUID)}.
+ */
+@Component
+public class PrincipalCache {
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+
+    private final Cache<Key, UserDetailsImpl> principals;
+
+    public PrincipalCache(@Value("${spring.app.jwtExpirationMs}") long jwtExpirationMs,
+                          @Value("${spring.app.principalCacheSize:10000}") long maximumSize) {
+        this.principals = CacheBuilder.newBuilder()
+                .expireAfterWrite(jwtExpirationMs, TimeUnit.MILLISECONDS)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Returns the cached principal of a token or loads and caches it.
+     *
+     * @param username token subject
+     * @param issuedAt token issue time
+     * @param loader   loads the principal on cache miss
+     * @return principal
+     */
+    public UserDetailsImpl get(String username, Date issuedAt, Supplier<UserDetailsImpl> loader) {
+        try {
+            return principals.get(new Key(username, issuedAt == null ? 0 : issuedAt.getTime()), loader::get);
+        } catch (ExecutionException e) {
+            // Supplier cannot throw checked exceptions
+            throw new IllegalStateException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            // e.g. UsernameNotFoundException of the loader
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops all cached principals of the given user - now and again after the current transaction is committed,
+     * so no concurrent request can cache the state before the commit.
+     *
+     * @param uuid user's UUID
+     */
+    public void evict(UUID uuid) {
+        Runnable eviction = () -> principals.asMap().values().removeIf(principal -> uuid.equals(principal.getUuid()));
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+        logger.debug("cached principals of user {} evicted", uuid);
+    }
+
+    /**
+     * Cache key.
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String username;
+        private final long issuedAt;
+    }
+}
@@ -0,0 +1,192 @@
+package de.conti.tires.mandi.container.seed;
+
+import de.conti.tires.mandi.backend.core.config.MandiConfig;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryRepository;
+import de.conti.tires.mandi.backend.user.*;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the seed data (roles, users and laboratories) on startup.
+ * <p>
+ * Idempotent: one query per entity type finds the already existing records, only missing ones are inserted - in JDBC
+ * batches within a single transaction. User passwords are hashed in parallel on a bounded pool before.
+ * Switched off by {@code mandi.seedEnabled=false} (e.g. in a profile's properties).
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "mandi", name = "seedEnabled", havingValue = "true", matchIfMissing = true)
+public class SeedDataLoader implements ApplicationRunner {
+
+    private static final int GENERATED_USERS = 100;
+
+    private final MandiConfig mandiConfig;
+    private final PasswordEncoder passwordEncoder;
+    private final RoleRepository roleRepository;
+    private final LaboratoryRepository laboratoryRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.currentTimeMillis();
+
+        Map<AppRole, RoleEntity> roles = new TransactionTemplate(transactionManager).execute(status -> seedRoles());
+
+        List<SeedUser> users = seedUsers();
+        Set<String> existingUsers = existing("SELECT u.userName FROM UserEntity u WHERE u.userName IN (:names)",
+                users.stream().map(SeedUser::getUserName).collect(Collectors.toList()));
+        List<SeedUser> missingUsers = users.stream()
+                .filter(user -> !existingUsers.contains(user.getUserName()))
+                .collect(Collectors.toList());
+        Map<String, String> hashes = hashPasswords(missingUsers);
+
+        int[] labCount = new int[1];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (SeedUser seed : missingUsers) {
+                UserEntity user = new UserEntity(seed.getUserName(), hashes.get(seed.getUserName()),
+                        seed.getFirstname(), seed.getLastname(), seed.getEmail());
+                user.setRoles(seed.getRoles().stream().map(roles::get).collect(Collectors.toSet()));
+                entityManager.persist(user);
+            }
+            entityManager.flush();
+            labCount[0] = seedLaboratories();
+        });
+
+        log.info("seed data loaded in {} ms: {} of {} users and {} laboratories inserted",
+                System.currentTimeMillis() - start, missingUsers.size(), users.size(), labCount[0]);
+    }
+
+    /**
+     * Loads all roles with a single query and creates the missing ones.
+     */
+    private Map<AppRole, RoleEntity> seedRoles() {
+        Map<AppRole, RoleEntity> roles = roleRepository.findAll().stream()
+                .collect(Collectors.toMap(RoleEntity::getRoleName, Function.identity(), (a, b) -> a,
+                        () -> new EnumMap<>(AppRole.class)));
+        for (AppRole appRole : List.of(AppRole.USER, AppRole.SELLER, AppRole.ADMIN)) {
+            roles.computeIfAbsent(appRole, name -> roleRepository.save(new RoleEntity(name)));
+        }
+        return roles;
+    }
+
+    private List<SeedUser> seedUsers() {
+        List<SeedUser> users = new ArrayList<>();
+        users.add(new SeedUser("user", "p", "user", "UserLastName", "user@localhost", Set.of()));
+        users.add(new SeedUser("seller1", "s", "seller", "SellerLastName", "seller1@localhost",
+                Set.of(AppRole.SELLER)));
+        users.add(new SeedUser("admin", "a", "Admin", "Boss", "admin@localhost",
+                Set.of(AppRole.USER, AppRole.SELLER, AppRole.ADMIN)));
+        for (int k = 0; k < GENERATED_USERS; k++) {
+            users.add(new SeedUser("x_" + k, "p", "x_fn_" + k, "x_ln_" + k, "user@localhost_" + k, Set.of()));
+        }
+        users.add(new SeedUser("x_" + 99999, "p", "x_fn_" + 0, "x_ln_" + 0, "user@localhost_" + 0, Set.of()));
+        return users;
+    }
+
+    /**
+     * Inserts the missing laboratories (referencing the admin as lab user).
+     *
+     * @return number of inserted laboratories
+     */
+    private int seedLaboratories() {
+        List<LaboratoryEntity> labs = List.of(
+                laboratory("Stöcken Mixing Lab", "CU-MIX"),
+                laboratory("GEP Mixing Lab", "GEP-MIX"));
+        Set<String> existingLabs = existing("SELECT l.name FROM laboratories l WHERE l.name IN (:names)",
+                labs.stream().map(LaboratoryEntity::getName).collect(Collectors.toList()));
+
+        List<LaboratoryEntity> missing = labs.stream()
+                .filter(lab -> !existingLabs.contains(lab.getName()))
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        UserEntity admin = entityManager
+                .createQuery("SELECT u FROM UserEntity u WHERE u.userName = :name", UserEntity.class)
+                .setParameter("name", "admin")
+                .getResultStream().findFirst().orElse(null);
+        missing.forEach(lab -> {
+            lab.setLabUser(admin);
+            laboratoryRepository.save(lab);
+        });
+        return missing.size();
+    }
+
+    private static LaboratoryEntity laboratory(String name, String shortName) {
+        LaboratoryEntity entity = new LaboratoryEntity();
+        entity.setName(name);
+        entity.setShortName(shortName);
+        entity.setLabDate(LocalDateTime.of(2021, 1, 1, 0, 0));
+        entity.setLabSwitchOn(true);
+        entity.setLabSwitchOff(false);
+        return entity;
+    }
+
+    /**
+     * Finds the existing keys of an entity type with a single query.
+     */
+    private Set<String> existing(String jpql, List<String> names) {
+        return new HashSet<>(entityManager.createQuery(jpql, String.class)
+                .setParameter("names", names)
+                .getResultList());
+    }
+
+    /**
+     * Hashes the passwords of the given users in parallel.
+     *
+     * @return user name to password hash
+     */
+    private Map<String, String> hashPasswords(List<SeedUser> users) throws InterruptedException, ExecutionException {
+        Map<String, String> hashes = new HashMap<>();
+        if (users.isEmpty()) {
+            return hashes;
+        }
+
+        int threads = Math.max(1, Math.min(mandiConfig.getSeedHashThreads(),
+                Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Map<String, Future<String>> futures = new LinkedHashMap<>();
+            for (SeedUser user : users) {
+                futures.put(user.getUserName(), executor.submit(() -> passwordEncoder.encode(user.getPassword())));
+            }
+            for (Map.Entry<String, Future<String>> entry : futures.entrySet()) {
+                hashes.put(entry.getKey(), entry.getValue().get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return hashes;
+    }
+
+    /**
+     * Seed definition of a user.
+     */
+    @lombok.Value
+    private static class SeedUser {
+        private String userName;
+        private String password;
+        private String firstname;
+        private String lastname;
+        private String email;
+        private Set<AppRole> roles;
+    }
+}
@@ -0,0 +1,107 @@
+package de.conti.tires.mandi.backend.core.auditor;
+
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryRepository;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements of a patch to verify the auditor is not loaded from the database - only its existence is
+ * checked.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AuditorAwareResolverTests {
+
+    @Autowired
+    private AuditorAwareResolver auditorAwareResolver;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LaboratoryRepository laboratoryRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsImpl admin = UserDetailsImpl.build(userRepository.findByUserName("admin").orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void patchDoesNotLoadAuditor() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            LaboratoryEntity laboratory = laboratoryRepository.findByName("GEP Mixing Lab").orElseThrow();
+            statistics.clear();
+
+            laboratory.setResultValue(laboratory.getResultValue() + 1);
+            laboratoryRepository.saveAndFlush(laboratory);
+
+            assertEquals(2, statistics.getPrepareStatementCount(), "only the auditor check and the update are expected");
+            assertEquals(0, statistics.getEntityStatistics(UserEntity.class.getName()).getLoadCount());
+            assertEquals(0, statistics.getEntityStatistics(UserEntity.class.getName()).getFetchCount());
+            assertFalse(Hibernate.isInitialized(laboratory.getLastModifiedBy()));
+        });
+    }
+
+    @Test
+    void auditorIsMemoizedPerTransaction() {
+        List<UserEntity> auditors = new TransactionTemplate(transactionManager).execute(status -> {
+            statistics.clear();
+            UserEntity first = auditorAwareResolver.getCurrentAuditor().orElseThrow();
+            entityManager.clear();
+            UserEntity second = auditorAwareResolver.getCurrentAuditor().orElseThrow();
+
+            assertEquals(1, statistics.getPrepareStatementCount(), "only the first call checks the auditor");
+            return List.of(first, second);
+        });
+        assertSame(auditors.get(0), auditors.get(1));
+
+        UserEntity next = new TransactionTemplate(transactionManager)
+                .execute(status -> auditorAwareResolver.getCurrentAuditor().orElseThrow());
+        assertNotSame(auditors.get(0), next);
+    }
+
+    @Test
+    void removedUserHasNoAuditor() {
+        UserDetailsImpl removed = new UserDetailsImpl(UUID.randomUUID(), "removed", "secret", "en", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(removed, null, removed.getAuthorities()));
+
+        assertTrue(auditorAwareResolver.getCurrentAuditor().isEmpty());
+        assertTrue(new TransactionTemplate(transactionManager)
+                .execute(status -> auditorAwareResolver.getCurrentAuditor().isEmpty()));
+    }
+}
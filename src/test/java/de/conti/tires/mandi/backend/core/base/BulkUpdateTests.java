@@ -0,0 +1,163 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.core.exception.BulkApiMessageDto;
+import de.conti.tires.mandi.backend.core.exception.BulkValidationException;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryController;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryRepository;
+import de.conti.tires.mandi.backend.laboratory.projection.LaboratoryDetails;
+import de.conti.tires.mandi.backend.payload.Suggestion;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk create and update of {@link AbstractBaseController} with a flush size of two: chunking, per item errors
+ * and the rollback of all items including the typeahead index.
+ */
+@SpringBootTest(properties = { "mandi.bulkFlushSize=2", "spring.jpa.properties.hibernate.generate_statistics=true" })
+class BulkUpdateTests {
+
+    @Autowired
+    private LaboratoryController laboratoryController;
+    @Autowired
+    private LaboratoryRepository laboratoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsImpl admin = UserDetailsImpl.build(userRepository.findByUserName("admin").orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        prefix = "Bulk " + UUID.randomUUID().toString().substring(0, 8) + " ";
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createsAllItemsInChunks() {
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            payloads.add(laboratory(prefix + i));
+        }
+
+        statistics.clear();
+        List<LaboratoryDetails> created = laboratoryController.postItems(payloads);
+
+        assertEquals(List.of(prefix + 0, prefix + 1, prefix + 2, prefix + 3, prefix + 4),
+                created.stream().map(LaboratoryDetails::getName).collect(Collectors.toList()));
+        assertTrue(created.stream().allMatch(details -> details.getUuid() != null));
+        assertEquals(5, statistics.getEntityInsertCount());
+        assertTrue(statistics.getFlushCount() >= 3, "one flush per chunk of two is expected");
+        for (LaboratoryDetails details : created) {
+            assertTrue(laboratoryRepository.findByName(details.getName()).isPresent());
+        }
+    }
+
+    @Test
+    void reportsErrorsPerItemAndStoresNothing() {
+        // build the index first, so a rolled back update would be visible
+        typeaheadIndex.suggest(LaboratoryEntity.class, "GEP", 1);
+
+        Map<String, Object> duplicate = laboratory("GEP Mixing Lab");
+        Map<String, Object> invalidDate = laboratory(prefix + 3);
+        invalidDate.put("labDate", "yesterday");
+        List<Map<String, Object>> payloads = List.of(laboratory(prefix + 0), duplicate, laboratory(prefix + 2),
+                invalidDate, laboratory(prefix + 4));
+
+        BulkValidationException exception = assertThrows(BulkValidationException.class,
+                () -> laboratoryController.postItems(payloads));
+
+        assertEquals(Set.of(1, 3), exception.getItemErrors().keySet());
+        assertTrue(exception.getItemErrors().get(1).getFields().containsKey("name"));
+        assertTrue(exception.getItemErrors().get(3).getFields().containsKey("labDate"));
+        for (int i : new int[] { 0, 2, 3, 4 }) {
+            assertTrue(laboratoryRepository.findByName(prefix + i).isEmpty(), "item " + i + " must be rolled back");
+        }
+        assertEquals(List.of(), suggestionLabels(prefix));
+    }
+
+    @Test
+    void rollsBackFlushedChunksOnLaterError() {
+        List<LaboratoryDetails> created = laboratoryController.postItems(
+                List.of(laboratory(prefix + 0), laboratory(prefix + 1), laboratory(prefix + 2)));
+
+        List<Map<String, Object>> updates = new ArrayList<>();
+        for (int i = 0; i < created.size(); i++) {
+            updates.add(new HashMap<>(Map.of("uuid", created.get(i).getUuid().toString(), "resultValue", i + 10)));
+        }
+        updates.add(new HashMap<>(Map.of("uuid", UUID.randomUUID().toString(), "resultValue", 1)));
+
+        BulkValidationException exception = assertThrows(BulkValidationException.class,
+                () -> laboratoryController.patchItems(updates));
+
+        assertEquals(Set.of(3), exception.getItemErrors().keySet());
+        for (LaboratoryDetails details : created) {
+            assertEquals(details.getResultValue(),
+                    laboratoryRepository.findByName(details.getName()).orElseThrow().getResultValue());
+        }
+    }
+
+    @Test
+    void indexesCommittedItems() {
+        typeaheadIndex.suggest(LaboratoryEntity.class, "GEP", 1);
+
+        laboratoryController.postItems(List.of(laboratory(prefix + 0), laboratory(prefix + 1)));
+
+        assertEquals(2, suggestionLabels(prefix).size());
+    }
+
+    @Test
+    void messageSummarizesFailedItems() {
+        BulkValidationException exception = assertThrows(BulkValidationException.class,
+                () -> laboratoryController.postItems(List.of(laboratory("GEP Mixing Lab"))));
+
+        BulkApiMessageDto message = new BulkApiMessageDto(exception, false);
+
+        assertEquals(Set.of(0), message.getItems().keySet());
+        assertEquals(List.of("error.BulkValidationException"),
+                message.getGlobal().stream()
+                        .map(global -> ((Translatable) global).getKey())
+                        .collect(Collectors.toList()));
+    }
+
+    private List<String> suggestionLabels(String query) {
+        return typeaheadIndex.suggest(LaboratoryEntity.class, query, 10).stream()
+                .map(Suggestion::getLabel)
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> laboratory(String name) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("name", name);
+        payload.put("shortName", "BULK");
+        payload.put("resultValue", 1.5);
+        return payload;
+    }
+}
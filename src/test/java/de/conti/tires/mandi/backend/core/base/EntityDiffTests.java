@@ -0,0 +1,66 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.core.doe.EventType;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.util.CloneUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link EntityDiff} of an update with a partial previous state as created by
+ * {@link AbstractBaseController#createCopy}.
+ */
+class EntityDiffTests {
+
+    @Test
+    void comparesChangedPropertiesOfPartialPreviousState() {
+        LaboratoryEntity entity = new LaboratoryEntity();
+        entity.setUuid(UUID.randomUUID());
+        entity.setVersion(1L);
+        entity.setName("Old Name");
+        entity.setShortName("KEEP");
+        entity.setResultValue(2.0);
+        Map<String, Object> data = Map.of("name", "New Name", "resultValue", 3.0);
+
+        LaboratoryEntity previous = CloneUtils.partialBeanCopy(entity, data.keySet());
+        entity.setName("New Name");
+        entity.setResultValue(3.0);
+        EntityDiff<LaboratoryEntity> diff = new EntityDiff<>(LaboratoryEntity.class, previous, entity, data);
+
+        assertEquals(EventType.UPDATE, diff.getEventType());
+        assertEquals(data, diff.getData());
+        for (String property : diff.getData().keySet()) {
+            assertNotEquals(read(diff.getPreviousState(), property), read(diff.getCurrentState(), property),
+                    property);
+        }
+        assertEquals("Old Name", diff.getPreviousState().getName());
+        assertEquals(2.0, diff.getPreviousState().getResultValue());
+        // not part of the change data - not available in the previous state
+        assertNull(diff.getPreviousState().getShortName());
+    }
+
+    @Test
+    void rejectsPreviousStateOfOtherEntity() {
+        LaboratoryEntity entity = new LaboratoryEntity();
+        entity.setUuid(UUID.randomUUID());
+        LaboratoryEntity other = new LaboratoryEntity();
+        other.setUuid(UUID.randomUUID());
+
+        LaboratoryEntity previous = CloneUtils.partialBeanCopy(other, Map.of("name", "x").keySet());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new EntityDiff<>(LaboratoryEntity.class, previous, entity, Map.of("name", "x")));
+    }
+
+    private static Object read(LaboratoryEntity entity, String property) {
+        return switch (property) {
+            case "name" -> entity.getName();
+            case "resultValue" -> entity.getResultValue();
+            default -> throw new IllegalArgumentException(property);
+        };
+    }
+}
@@ -0,0 +1,153 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.core.exception.InvalidReferenceException;
+import de.conti.tires.mandi.backend.core.exception.ValidationException;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.user.AppRole;
+import de.conti.tires.mandi.backend.user.RoleEntity;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Type coercion of {@link ServiceUtils#performPatch} through the {@link EntityPatchPlan} of an entity class.
+ */
+@SpringBootTest
+class EntityPatchPlanTests {
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void planSeparatesSimplePropertiesAndReferences() {
+        EntityPatchPlan<LaboratoryEntity> plan = EntityPatchPlan.of(LaboratoryEntity.class,
+                entityManagerFactory.getMetamodel());
+
+        assertSame(plan, EntityPatchPlan.of(LaboratoryEntity.class, entityManagerFactory.getMetamodel()));
+        assertEquals(LocalDateTime.class, plan.getSimpleProperty("labDate").getType());
+        assertEquals(double.class, plan.getSimpleProperty("resultValue").getType());
+        assertNull(plan.getSimpleProperty("labUser"));
+        assertNull(plan.getSimpleProperty("unknown"));
+        assertNotNull(plan.getProperty("labUser"));
+        assertEquals(UserEntity.class, plan.getSingleReferences().get("labUser").getType());
+        assertTrue(plan.getSingleReferences().containsKey("createdBy"));
+        assertFalse(plan.getSingleReferences().containsKey("laboratories"));
+    }
+
+    @Test
+    void mapsSimpleValues() {
+        LaboratoryEntity laboratory = new LaboratoryEntity();
+        laboratory.setShortName("OLD");
+
+        patch(laboratory, Map.of(
+                "name", "Coercion Lab",
+                "shortName", "",
+                "resultValue", 4,
+                "labDate", "2021-01-01T08:30:00",
+                "labSwitchOn", true));
+
+        assertEquals("Coercion Lab", laboratory.getName());
+        assertNull(laboratory.getShortName(), "empty strings are mapped to null");
+        assertEquals(4.0, laboratory.getResultValue());
+        assertEquals(LocalDateTime.of(2021, 1, 1, 8, 30), laboratory.getLabDate());
+        assertTrue(laboratory.isLabSwitchOn());
+    }
+
+    @Test
+    void mapsNullToObjectProperties() {
+        LaboratoryEntity laboratory = new LaboratoryEntity();
+        laboratory.setLabDate(LocalDateTime.now());
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("labDate", null);
+        patch(laboratory, payload);
+
+        assertNull(laboratory.getLabDate());
+    }
+
+    @Test
+    void rejectsNullForPrimitiveProperties() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("resultValue", null);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> patch(new LaboratoryEntity(), payload));
+        assertEquals("error.validation.required", exception.getErrors().getFields().get("resultValue")
+                .iterator().next().getCode());
+    }
+
+    @Test
+    void rejectsInvalidDates() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> patch(new LaboratoryEntity(), Map.of("labDate", "yesterday")));
+        assertEquals("error.validation.invalidValue", exception.getErrors().getFields().get("labDate")
+                .iterator().next().getCode());
+    }
+
+    @Test
+    void mapsEnumsByName() {
+        RoleEntity role = new RoleEntity();
+
+        patch(role, Map.of("roleName", "SELLER"));
+        assertEquals(AppRole.SELLER, role.getRoleName());
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> patch(role, Map.of("roleName", "OWNER")));
+        assertTrue(exception.getErrors().getFields().containsKey("roleName"));
+        assertEquals(AppRole.SELLER, role.getRoleName());
+    }
+
+    @Test
+    void ignoresUnknownAndNestedProperties() {
+        LaboratoryEntity laboratory = new LaboratoryEntity();
+
+        patch(laboratory, Map.of("name", "Ignoring Lab", "unknown", "value", "labUser.lastname", "Nested"));
+
+        assertEquals("Ignoring Lab", laboratory.getName());
+        assertNull(laboratory.getLabUser());
+    }
+
+    @Test
+    void resolvesAndClearsSingleReferences() {
+        UserEntity admin = userRepository.findByUserName("admin").orElseThrow();
+        LaboratoryEntity laboratory = new LaboratoryEntity();
+
+        patch(laboratory, Map.of("labUser", admin.getUuid().toString()));
+        assertEquals(admin.getUuid(), laboratory.getLabUser().getUuid());
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("labUser", null);
+        patch(laboratory, payload);
+        assertNull(laboratory.getLabUser());
+    }
+
+    @Test
+    void rejectsInvalidReferences() {
+        LaboratoryEntity laboratory = new LaboratoryEntity();
+
+        assertThrows(InvalidReferenceException.class,
+                () -> patch(laboratory, Map.of("labUser", "no uuid")));
+        assertThrows(InvalidReferenceException.class,
+                () -> patch(laboratory, Map.of("labUser", UUID.randomUUID().toString())));
+        assertNull(laboratory.getLabUser());
+    }
+
+    private void patch(BaseEntity target, Map<String, Object> payload) {
+        ServiceUtils.performPatch(payload, target, entityManagerFactory, entityManager);
+    }
+}
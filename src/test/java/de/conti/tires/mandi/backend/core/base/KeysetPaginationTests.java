@@ -0,0 +1,124 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.core.exception.BadRequestException;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryController;
+import de.conti.tires.mandi.backend.laboratory.projection.LaboratoryDetails;
+import de.conti.tires.mandi.backend.payload.PagedResponse;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset pagination of {@link AbstractBaseController#getPage}: paging across equal sort keys and the rejection of
+ * tampered cursors and sorts by properties that can not be keyset properties.
+ */
+@SpringBootTest
+class KeysetPaginationTests {
+
+    private static final int LABORATORIES = 7;
+
+    @Autowired
+    private LaboratoryController laboratoryController;
+    @Autowired
+    private UserRepository userRepository;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsImpl admin = UserDetailsImpl.build(userRepository.findByUserName("admin").orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        prefix = "Keyset " + UUID.randomUUID().toString().substring(0, 8) + " ";
+
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        for (int i = 0; i < LABORATORIES; i++) {
+            // only two distinct sort values
+            payloads.add(Map.of("name", prefix + i, "shortName", "KS", "resultValue", (double) (i % 2)));
+        }
+        laboratoryController.postItems(payloads);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void pagesAcrossTies() {
+        PageRequest firstPage = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "resultValue"));
+        List<LaboratoryDetails> all = new ArrayList<>();
+        String cursor = "";
+        for (int page = 0; page <= LABORATORIES; page++) {
+            PagedResponse<LaboratoryDetails> response = laboratoryController.getPage(prefix, cursor, true, firstPage);
+            all.addAll(response.getEmbedded().getContent());
+            cursor = response.getPage().getNextCursor();
+            if (response.getPage().isLastPage()) {
+                assertNull(cursor);
+                break;
+            }
+            assertNotNull(cursor);
+        }
+
+        assertEquals(LABORATORIES, all.size());
+        assertEquals(LABORATORIES, all.stream().map(LaboratoryDetails::getUuid).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getResultValue() >= all.get(i).getResultValue());
+        }
+    }
+
+    @Test
+    void rejectsUnknownSortProperty() {
+        assertBadRequest("", Sort.by("unknown"));
+    }
+
+    @Test
+    void rejectsNestedSortProperty() {
+        assertBadRequest("", Sort.by("labUser.lastname"));
+    }
+
+    @Test
+    void rejectsNullableSortProperty() {
+        assertBadRequest("", Sort.by("labDate"));
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        String cursor = laboratoryController.getPage(prefix, "", true, PageRequest.of(0, 2, Sort.by("name")))
+                .getPage().getNextCursor();
+        assertNotNull(cursor);
+
+        assertBadRequest(cursor.substring(1), Sort.unsorted());
+        assertBadRequest("not a cursor", Sort.unsorted());
+        assertBadRequest(token("{\"sort\":[\"labUser.lastname,ASC\"],\"keys\":{\"labUser.lastname\":\"x\"}}"),
+                Sort.unsorted());
+        assertBadRequest(token("{\"sort\":[\"name,UP\"],\"keys\":{\"name\":\"x\"}}"), Sort.unsorted());
+        assertBadRequest(token("{\"sort\":[\"name,ASC\"],\"keys\":{\"name\":null}}"), Sort.unsorted());
+        assertBadRequest(token("{\"sort\":[\"name,ASC\"],\"keys\":{\"uuid\":\"" + UUID.randomUUID() + "\"}}"),
+                Sort.unsorted());
+        assertBadRequest(token("{\"sort\":[\"resultValue,ASC\"],\"keys\":{\"resultValue\":\"high\"}}"),
+                Sort.unsorted());
+    }
+
+    private void assertBadRequest(String cursor, Sort sort) {
+        assertThrows(BadRequestException.class,
+                () -> laboratoryController.getPage(prefix, cursor, true, PageRequest.of(0, 2, sort)));
+    }
+
+    private static String token(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,132 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.laboratory.LaboratoryController;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.laboratory.projection.LaboratoryDetails;
+import de.conti.tires.mandi.backend.payload.PageInfo;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Count free slices of {@link AbstractBaseController#getPage} and the {@link SearchCountCache} of the totals.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SearchCountCacheTests {
+
+    @Autowired
+    private LaboratoryController laboratoryController;
+    @Autowired
+    private SearchCountCache searchCountCache;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsImpl admin = UserDetailsImpl.build(userRepository.findByUserName("admin").orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        prefix = "Count " + UUID.randomUUID().toString().substring(0, 8) + " ";
+
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            payloads.add(Map.of("name", prefix + i, "shortName", "CNT", "resultValue", 1.0));
+        }
+        laboratoryController.postItems(payloads);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sliceWithoutCountHasNoTotals() {
+        statistics.clear();
+        PageInfo first = laboratoryController.getPage(prefix, null, false, PageRequest.of(0, 2)).getPage();
+
+        assertEquals(1, statistics.getQueryExecutionCount(), "no count query is expected");
+        assertNull(first.getTotalElements());
+        assertNull(first.getTotalPages());
+        assertFalse(first.isLastPage());
+
+        PageInfo last = laboratoryController.getPage(prefix, null, false, PageRequest.of(2, 2)).getPage();
+        assertTrue(last.isLastPage());
+    }
+
+    @Test
+    void totalOfLastSliceIsDerived() {
+        statistics.clear();
+        PageInfo last = laboratoryController.getPage(prefix, null, true, PageRequest.of(2, 2)).getPage();
+
+        assertEquals(1, statistics.getQueryExecutionCount(), "no count query is expected");
+        assertEquals(5, last.getTotalElements());
+        assertEquals(3, last.getTotalPages());
+    }
+
+    @Test
+    void countIsCachedUntilWrite() {
+        statistics.clear();
+        PageInfo first = laboratoryController.getPage(prefix, null, true, PageRequest.of(0, 2)).getPage();
+        long counted = statistics.getQueryExecutionCount();
+
+        statistics.clear();
+        PageInfo cached = laboratoryController.getPage(prefix, null, true, PageRequest.of(0, 2)).getPage();
+
+        assertEquals(5, first.getTotalElements());
+        assertEquals(5, cached.getTotalElements());
+        assertEquals(counted - 1, statistics.getQueryExecutionCount(), "the count is expected from the cache");
+
+        laboratoryController.postItems(List.of(Map.of("name", prefix + 5, "shortName", "CNT", "resultValue", 1.0)));
+        PageInfo written = laboratoryController.getPage(prefix, null, true, PageRequest.of(0, 2)).getPage();
+        assertEquals(6, written.getTotalElements());
+    }
+
+    @Test
+    void invalidatesAgainAfterCommit() {
+        AtomicInteger counts = new AtomicInteger();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            searchCountCache.invalidate(LaboratoryEntity.class);
+            // cached by a concurrent search before the commit
+            searchCountCache.get(LaboratoryEntity.class, prefix, counts::incrementAndGet);
+        });
+
+        assertEquals(2, searchCountCache.get(LaboratoryEntity.class, prefix, counts::incrementAndGet));
+        assertEquals(2, searchCountCache.get(LaboratoryEntity.class, prefix, counts::incrementAndGet));
+    }
+
+    @Test
+    void keepsCountsOfOtherTypes() {
+        AtomicInteger counts = new AtomicInteger();
+        searchCountCache.get(LaboratoryDetails.class, prefix, counts::incrementAndGet);
+
+        searchCountCache.invalidate(LaboratoryEntity.class);
+
+        assertEquals(1, searchCountCache.get(LaboratoryDetails.class, prefix, counts::incrementAndGet));
+    }
+}
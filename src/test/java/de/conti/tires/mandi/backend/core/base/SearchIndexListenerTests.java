@@ -0,0 +1,124 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.laboratory.LaboratoryController;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryRepository;
+import de.conti.tires.mandi.backend.payload.Suggestion;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link SearchIndexListener}: writes bypassing the controllers reach the {@link TypeaheadIndex} and the
+ * {@link SearchCountCache} after their commit only.
+ */
+@SpringBootTest
+class SearchIndexListenerTests {
+
+    @Autowired
+    private LaboratoryController laboratoryController;
+    @Autowired
+    private LaboratoryRepository laboratoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+    @Autowired
+    private SearchCountCache searchCountCache;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsImpl admin = UserDetailsImpl.build(userRepository.findByUserName("admin").orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        prefix = "Listener " + UUID.randomUUID().toString().substring(0, 8) + " ";
+        // loads the index, so updates are applied
+        typeaheadIndex.suggest(LaboratoryEntity.class, "GEP", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void indexesRepositoryWrites() {
+        LaboratoryEntity saved = laboratoryRepository.save(laboratory(prefix + "Saved"));
+        assertEquals(List.of(prefix + "Saved LSN"), labels(prefix, 10));
+
+        saved.setName(prefix + "Renamed");
+        laboratoryRepository.save(saved);
+        assertEquals(List.of(prefix + "Renamed LSN"), labels(prefix, 10));
+
+        laboratoryRepository.deleteById(saved.getUuid());
+        assertEquals(List.of(), labels(prefix, 10));
+    }
+
+    @Test
+    void indexesAfterCommitOnly() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            laboratoryRepository.saveAndFlush(laboratory(prefix + "Pending"));
+            assertEquals(List.of(), labels(prefix, 10));
+        });
+        assertEquals(List.of(prefix + "Pending LSN"), labels(prefix, 10));
+    }
+
+    @Test
+    void ignoresRolledBackWrites() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            laboratoryRepository.saveAndFlush(laboratory(prefix + "Rolled back"));
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of(), labels(prefix, 10));
+    }
+
+    @Test
+    void invalidatesCountsOnRepositoryWrites() {
+        AtomicInteger counts = new AtomicInteger();
+        searchCountCache.get(LaboratoryEntity.class, prefix, counts::incrementAndGet);
+
+        laboratoryRepository.save(laboratory(prefix + "Counted"));
+
+        assertEquals(2, searchCountCache.get(LaboratoryEntity.class, prefix, counts::incrementAndGet));
+    }
+
+    @Test
+    void clampsSuggestionLimit() {
+        laboratoryRepository.saveAll(List.of(laboratory(prefix + "A"), laboratory(prefix + "B")));
+
+        assertEquals(1, laboratoryController.getSuggestions(prefix, 0).size());
+        assertEquals(1, laboratoryController.getSuggestions(prefix, -5).size());
+        assertEquals(2, laboratoryController.getSuggestions(prefix, 1000).size());
+    }
+
+    private List<String> labels(String query, int limit) {
+        return typeaheadIndex.suggest(LaboratoryEntity.class, query, limit).stream()
+                .map(Suggestion::getLabel)
+                .collect(Collectors.toList());
+    }
+
+    private static LaboratoryEntity laboratory(String name) {
+        LaboratoryEntity laboratory = new LaboratoryEntity();
+        laboratory.setName(name);
+        laboratory.setShortName("LSN");
+        return laboratory;
+    }
+}
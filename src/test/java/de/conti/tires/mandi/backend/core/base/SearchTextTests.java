@@ -0,0 +1,147 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.laboratory.LaboratoryController;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryRepository;
+import de.conti.tires.mandi.backend.laboratory.projection.LaboratoryDetails;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Filtered searches of {@link AuditBaseEntityRepository} via the n-grams of the search text, their maintenance on
+ * updates and the {@link SearchTextBackfill} of rows without search text.
+ */
+@SpringBootTest
+class SearchTextTests {
+
+    @Autowired
+    private LaboratoryController laboratoryController;
+    @Autowired
+    private LaboratoryRepository laboratoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SearchTextBackfill searchTextBackfill;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String prefix;
+    private LaboratoryDetails created;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsImpl admin = UserDetailsImpl.build(userRepository.findByUserName("admin").orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        prefix = "Grams " + UUID.randomUUID().toString().substring(0, 8) + " ";
+        created = laboratoryController.postItems(
+                List.of(Map.of("name", prefix + "Mixing", "shortName", "MXG", "resultValue", 1.0))).getFirst();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void gramsAreDistinctSubstrings() {
+        assertEquals(Set.of("ABA", "BAB"), SearchText.grams("ABABA"));
+        assertEquals(Set.of(), SearchText.grams("AB"));
+        assertEquals(Set.of(), SearchText.grams(null));
+        assertEquals(0, SearchText.gramCount("AB"));
+        assertEquals(Set.of(""), SearchText.queryGrams("AB"));
+    }
+
+    @Test
+    void findsInfixOfSearchText() {
+        assertEquals(List.of(created.getUuid()), find(normalized(prefix + "MIX")));
+        assertEquals(List.of(created.getUuid()), find(normalized(prefix.substring(3))));
+        assertEquals(1, laboratoryRepository.countFiltered(normalized(prefix)));
+    }
+
+    @Test
+    void findsFilterSpanningFields() {
+        assertEquals(List.of(created.getUuid()), find(normalized(prefix + "Mixing MX")));
+    }
+
+    @Test
+    void requiresAllGramsInOrder() {
+        // all n-grams are stored, but the text does not contain the filter
+        assertEquals(List.of(), find(normalized(prefix + "MIXING MIXING")));
+        assertEquals(List.of(), find(normalized(prefix + "MIXED")));
+    }
+
+    @Test
+    void shortFilterMatchesTexts() {
+        assertFalse(laboratoryRepository.findFilteredDetails("MX", PageRequest.of(0, 1)).isEmpty());
+        assertEquals(laboratoryRepository.countFiltered(""), laboratoryRepository.count());
+    }
+
+    @Test
+    void updatesGramsOnChange() {
+        laboratoryController.patchItems(List.of(new HashMap<>(Map.of(
+                "uuid", created.getUuid().toString(), "shortName", "BLENDER"))));
+
+        assertEquals(List.of(created.getUuid()), find(normalized(prefix + "MIXING BLEND")));
+        assertEquals(List.of(), find(normalized(prefix + "MIXING MXG")));
+    }
+
+    @Test
+    void specificationUsesGrams() {
+        List<UUID> found = laboratoryRepository.findAll(
+                        laboratoryRepository.filterSpecification(normalized(prefix + "MIXING M"))).stream()
+                .map(LaboratoryEntity::getUuid)
+                .toList();
+
+        assertEquals(List.of(created.getUuid()), found);
+        assertEquals(List.of(), laboratoryRepository.findAll(
+                laboratoryRepository.filterSpecification(normalized(prefix + "MIXED"))));
+    }
+
+    @Test
+    void backfillsRowsWithoutSearchText() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE laboratories A SET A.searchText = NULL WHERE A.uuid = :uuid")
+                .setParameter("uuid", created.getUuid())
+                .executeUpdate());
+        assertEquals(List.of(), find(normalized(prefix)));
+        LaboratoryEntity before = laboratoryRepository.findById(created.getUuid()).orElseThrow();
+
+        assertTrue(searchTextBackfill.backfill("laboratories") >= 1);
+
+        assertEquals(List.of(created.getUuid()), find(normalized(prefix + "MIX")));
+        assertEquals(0, searchTextBackfill.backfill("laboratories"));
+        // the derived columns are no modification
+        LaboratoryEntity after = laboratoryRepository.findById(created.getUuid()).orElseThrow();
+        assertEquals(normalized(prefix + "Mixing MXG"), after.getSearchText());
+        assertEquals(before.getLastModifiedDate(), after.getLastModifiedDate());
+        assertEquals(before.getVersion(), after.getVersion());
+    }
+
+    private List<UUID> find(String filter) {
+        return laboratoryRepository.findFilteredDetails(filter, PageRequest.of(0, 10)).stream()
+                .map(row -> row.get("uuid", UUID.class))
+                .toList();
+    }
+
+    private static String normalized(String text) {
+        return SearchText.normalize(text);
+    }
+}
@@ -0,0 +1,104 @@
+package de.conti.tires.mandi.backend.core.base;
+
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryRepository;
+import de.conti.tires.mandi.backend.payload.Suggestion;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link TypeaheadIndex}: loading an index does not lose writes committed meanwhile, short queries never scan it.
+ */
+@SpringBootTest
+class TypeaheadIndexTests {
+
+    @Autowired
+    private LaboratoryRepository laboratoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+    @Autowired
+    private EntityManager entityManager;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsImpl admin = UserDetailsImpl.build(userRepository.findByUserName("admin").orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        prefix = "Typeahead " + UUID.randomUUID().toString().substring(0, 8) + " ";
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void replaysWritesCommittedWhileLoading() {
+        LaboratoryEntity renamed = laboratoryRepository.save(laboratory(prefix + "Before"));
+        LaboratoryEntity removed = laboratoryRepository.save(laboratory(prefix + "Removed"));
+
+        // a fresh index whose load query runs after two writes were committed, but reads the rows before them
+        AtomicBoolean loading = new AtomicBoolean();
+        TypeaheadIndex[] index = new TypeaheadIndex[1];
+        EntityManager loadingEntityManager = (EntityManager) Proxy.newProxyInstance(
+                EntityManager.class.getClassLoader(), new Class<?>[]{EntityManager.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("createQuery") && !loading.getAndSet(true)) {
+                        renamed.setName(prefix + "After");
+                        index[0].update(renamed);
+                        index[0].remove(removed);
+                    }
+                    try {
+                        return method.invoke(entityManager, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        index[0] = new TypeaheadIndex(loadingEntityManager);
+
+        assertEquals(List.of(prefix + "After LSN"), labels(index[0], prefix));
+        assertTrue(loading.get());
+    }
+
+    @Test
+    void ignoresSingleCharacterQueries() {
+        laboratoryRepository.save(laboratory(prefix + "Single"));
+
+        assertEquals(List.of(), labels(typeaheadIndex, "T"));
+        assertEquals(List.of(), labels(typeaheadIndex, " t "));
+        assertEquals(List.of(prefix + "Single LSN"), labels(typeaheadIndex, prefix));
+    }
+
+    private static List<String> labels(TypeaheadIndex index, String query) {
+        return index.suggest(LaboratoryEntity.class, query, 10).stream()
+                .map(Suggestion::getLabel)
+                .collect(Collectors.toList());
+    }
+
+    private static LaboratoryEntity laboratory(String name) {
+        LaboratoryEntity laboratory = new LaboratoryEntity();
+        laboratory.setName(name);
+        laboratory.setShortName("LSN");
+        return laboratory;
+    }
+}
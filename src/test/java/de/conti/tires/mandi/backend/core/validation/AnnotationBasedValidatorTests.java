@@ -0,0 +1,85 @@
+package de.conti.tires.mandi.backend.core.validation;
+
+import de.conti.tires.mandi.backend.user.UserEntity;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unique constraints of {@link AnnotationBasedValidator} containing a reference: references are compared by uuid
+ * and rows with a {@code null} reference are found, too.
+ */
+@SpringBootTest
+class AnnotationBasedValidatorTests {
+
+    @Autowired
+    private AnnotationBasedValidatorFactory validatorFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserEntity admin;
+    private UserEntity seller;
+    private String code;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByUserName("admin").orElseThrow();
+        seller = userRepository.findByUserName("seller1").orElseThrow();
+        code = UUID.randomUUID().toString();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.persist(entity(code, entityManager.getReference(UserEntity.class, admin.getUuid())));
+            entityManager.persist(entity(code, null));
+        });
+    }
+
+    @Test
+    void reportsConflictWithReference() {
+        assertEquals(Set.of("code", "owner"), uniqueErrors(entity(code, admin), false));
+        // reference errors are ignored by default
+        assertEquals(Set.of("code"), uniqueErrors(entity(code, admin), true));
+    }
+
+    @Test
+    void reportsConflictWithNullReference() {
+        assertEquals(Set.of("code", "owner"), uniqueErrors(entity(code, null), false));
+        // null references are reported even if reference errors are ignored
+        assertEquals(Set.of("code", "owner"), uniqueErrors(entity(code, null), true));
+    }
+
+    @Test
+    void acceptsOtherReference() {
+        assertEquals(Set.of(), uniqueErrors(entity(code, seller), false));
+        assertEquals(Set.of(), uniqueErrors(entity(UUID.randomUUID().toString(), null), false));
+    }
+
+    private Set<String> uniqueErrors(UniqueReferenceEntity entity, boolean ignoreReferenceUniqueErrors) {
+        ValidationErrors errors = new ValidationErrors();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                validatorFactory.create(UniqueReferenceEntity.class, ignoreReferenceUniqueErrors)
+                        .validate(entity, null, Map.of(), errors));
+        return errors.getFields().keySet();
+    }
+
+    private static UniqueReferenceEntity entity(String code, UserEntity owner) {
+        UniqueReferenceEntity entity = new UniqueReferenceEntity();
+        entity.setCode(code);
+        entity.setOwner(owner);
+        return entity;
+    }
+}
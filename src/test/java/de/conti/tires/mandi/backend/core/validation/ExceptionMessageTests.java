@@ -0,0 +1,49 @@
+package de.conti.tires.mandi.backend.core.validation;
+
+import de.conti.tires.mandi.backend.core.config.MandiConfig;
+import de.conti.tires.mandi.backend.core.exception.ApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * {@link ExceptionMessage} prints the stack trace only if stack traces are enabled.
+ */
+@SpringBootTest
+class ExceptionMessageTests {
+
+    @Autowired
+    private MandiConfig mandiConfig;
+
+    @AfterEach
+    void tearDown() {
+        ApiException.setStackTraceEnabled(mandiConfig.isExposeApiMessageDtoStacktrace());
+    }
+
+    @Test
+    void omitsStackTraceIfDisabled() {
+        ApiException.setStackTraceEnabled(false);
+        // debug logging enables stack traces as well
+        assumeFalse(ApiException.isStackTraceEnabled());
+
+        ExceptionMessage message = new ExceptionMessage(new IllegalStateException("broken"));
+
+        assertNull(message.getStacktrace());
+        assertEquals("IllegalStateException", message.getExceptionName());
+        assertEquals("broken", message.getErrorMessage());
+    }
+
+    @Test
+    void printsStackTraceIfEnabled() {
+        ApiException.setStackTraceEnabled(true);
+
+        ExceptionMessage message = new ExceptionMessage(new IllegalStateException("broken"), "error.test");
+
+        assertNotNull(message.getStacktrace());
+        assertTrue(message.getStacktrace().startsWith(IllegalStateException.class.getName() + ": broken"));
+    }
+}
@@ -0,0 +1,25 @@
+package de.conti.tires.mandi.backend.core.validation;
+
+import de.conti.tires.mandi.backend.core.base.BaseEntity;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+
+/**
+ * Test entity with a unique constraint containing a nullable reference.
+ */
+@Entity(name = "uniquereferences")
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "code", "owner_uuid" }))
+@Getter
+@Setter
+public class UniqueReferenceEntity extends BaseEntity {
+
+    @Column(length = 64)
+    private String code;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_uuid")
+    private UserEntity owner;
+}
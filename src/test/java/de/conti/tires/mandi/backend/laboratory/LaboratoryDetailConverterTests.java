@@ -0,0 +1,137 @@
+package de.conti.tires.mandi.backend.laboratory;
+
+import de.conti.tires.mandi.backend.laboratory.projection.LaboratoryDetails;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import de.conti.tires.mandi.backend.user.projection.UserDetails;
+import de.conti.tires.mandi.backend.user.projection.UserSummary;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The projection query conversion of {@link LaboratoryDetailConverter} returns the same details as the conversion
+ * of the entity - including the audit users of the lab user - and pages share equal users.
+ */
+@SpringBootTest
+class LaboratoryDetailConverterTests {
+
+    @Autowired
+    private LaboratoryController laboratoryController;
+    @Autowired
+    private LaboratoryDetailConverter laboratoryDetailConverter;
+    @Autowired
+    private LaboratoryRepository laboratoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rowEqualsEntityConversion() {
+        // created by the admin, modified by the seller
+        login("admin");
+        UserEntity labUser = userRepository.save(
+                new UserEntity("u_" + suffix, "secret", "Lab", "User " + suffix, suffix + "@localhost"));
+        login("seller1");
+        labUser.setFirstname("Laboratory");
+        userRepository.save(labUser);
+
+        login("admin");
+        String name = "Converter " + suffix;
+        laboratoryController.postItems(List.of(Map.of("name", name, "shortName", "CONV", "resultValue", 2.5,
+                "labUser", labUser.getUuid().toString())));
+
+        LaboratoryDetails fromRow = laboratoryController.getPage(name, null, false, PageRequest.of(0, 1))
+                .getEmbedded().getContent().getFirst();
+        LaboratoryDetails fromEntity = new TransactionTemplate(transactionManager).execute(status ->
+                laboratoryDetailConverter.convert(laboratoryRepository.findByName(name).orElseThrow()));
+
+        assertEquals(fromEntity, fromRow);
+        UserDetails rowUser = fromRow.getLabUser();
+        assertUserSummary(fromEntity.getLabUser().getCreatedBy(), rowUser.getCreatedBy());
+        assertUserSummary(fromEntity.getLabUser().getLastModifiedBy(), rowUser.getLastModifiedBy());
+        assertEquals("admin@localhost", rowUser.getCreatedBy().getEmail());
+        assertEquals("seller1@localhost", rowUser.getLastModifiedBy().getEmail());
+    }
+
+    @Test
+    void rowWithoutLabUserEqualsEntityConversion() {
+        login("admin");
+        String name = "Converter " + suffix;
+        laboratoryController.postItems(List.of(Map.of("name", name, "shortName", "CONV", "resultValue", 1.0)));
+
+        LaboratoryDetails fromRow = laboratoryController.getPage(name, null, false, PageRequest.of(0, 1))
+                .getEmbedded().getContent().getFirst();
+        LaboratoryDetails fromEntity = new TransactionTemplate(transactionManager).execute(status ->
+                laboratoryDetailConverter.convert(laboratoryRepository.findByName(name).orElseThrow()));
+
+        assertEquals(fromEntity, fromRow);
+        assertNull(fromRow.getLabUser());
+    }
+
+    @Test
+    void pageSharesNestedUsers() {
+        login("admin");
+        UserEntity labUser = userRepository.save(
+                new UserEntity("u_" + suffix, "secret", "Lab", "User " + suffix, suffix + "@localhost"));
+        String name = "Converter " + suffix;
+        laboratoryController.postItems(List.of(
+                Map.of("name", name + " 1", "shortName", "CONV", "resultValue", 1.0, "labUser", labUser.getUuid().toString()),
+                Map.of("name", name + " 2", "shortName", "CONV", "resultValue", 2.0, "labUser", labUser.getUuid().toString())));
+
+        List<LaboratoryDetails> content = laboratoryController.getPage(name, null, false, PageRequest.of(0, 2))
+                .getEmbedded().getContent();
+
+        assertEquals(2, content.size());
+        LaboratoryDetails first = content.get(0);
+        LaboratoryDetails second = content.get(1);
+        assertSame(first.getLabUser(), second.getLabUser());
+        assertSame(first.getCreatedBy(), second.getCreatedBy());
+        // the lab user was created by the admin as well
+        assertSame(first.getCreatedBy(), first.getLabUser().getCreatedBy());
+    }
+
+    /**
+     * Summaries are equal by UUID only.
+     */
+    private static void assertUserSummary(UserSummary expected, UserSummary actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getUuid(), actual.getUuid());
+        assertEquals(expected.getFirstname(), actual.getFirstname());
+        assertEquals(expected.getLastname(), actual.getLastname());
+        assertEquals(expected.getEmail(), actual.getEmail());
+    }
+
+    private void login(String userName) {
+        UserDetailsImpl user = UserDetailsImpl.build(userRepository.findByUserName(userName).orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,117 @@
+package de.conti.tires.mandi.backend.user;
+
+import de.conti.tires.mandi.container.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AccessTokenRevocationService}: revocation on sign out, re-login, the cached lookups of filter hits and the
+ * purge of expired revocations.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AccessTokenRevocationServiceTests {
+
+    @Autowired
+    private AccessTokenRevocationService revocationService;
+    @Autowired
+    private AccessTokenRevocationRepository revocationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void revokesTokensIssuedUpToSignOut() {
+        UUID user = userUuid("x_20");
+        Date issuedAt = new Date();
+
+        revocationService.revokeUser(user);
+
+        assertTrue(revocationService.isRevoked(user, issuedAt));
+        assertTrue(revocationService.isRevoked(user, null));
+        assertFalse(revocationService.isRevoked(userUuid("x_21"), issuedAt));
+    }
+
+    @Test
+    void acceptsReloginInSameSecond() {
+        UUID user = userUuid("x_22");
+        revocationService.revokeUser(user);
+        Instant notBefore = revocationRepository.findById(user).orElseThrow().getNotBefore();
+
+        assertFalse(revocationService.isRevoked(user, Date.from(notBefore.plusMillis(1))));
+        // tokens without the milliseconds claim are revoked for the whole second
+        assertTrue(revocationService.isRevoked(user, Date.from(notBefore.truncatedTo(ChronoUnit.SECONDS))));
+    }
+
+    @Test
+    void looksUpFilterHitsOncePerUser() {
+        UUID user = userUuid("x_23");
+        revocationService.revokeUser(user);
+        // the user stays in the filter - like a false positive
+        revocationRepository.deleteById(user);
+
+        statistics.clear();
+        assertFalse(revocationService.isRevoked(user, new Date()));
+        assertFalse(revocationService.isRevoked(user, new Date()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // a new revocation replaces the cached result
+        revocationService.revokeUser(user);
+        assertTrue(revocationService.isRevoked(user, new Date(0)));
+    }
+
+    @Test
+    void purgesExpiredRevocations() {
+        UUID user = userUuid("x_24");
+        revocationService.revokeUser(user);
+        AccessTokenRevocationEntity revocation = revocationRepository.findById(user).orElseThrow();
+        revocation.setExpiresAt(Instant.now().minusSeconds(1));
+        revocationRepository.save(revocation);
+
+        revocationService.purgeExpired();
+
+        assertTrue(revocationRepository.findById(user).isEmpty());
+        assertFalse(revocationService.isRevoked(user, new Date(0)));
+    }
+
+    @Test
+    void tokensCarryIssueTimeInMilliseconds() {
+        long before = System.currentTimeMillis();
+        Claims claims = jwtUtils.verifyJwtToken(jwtUtils.generateTokenFromUsername("x_25"));
+        long after = System.currentTimeMillis();
+
+        Date issuedAt = JwtUtils.getIssuedAt(claims);
+        assertTrue(issuedAt.getTime() >= before && issuedAt.getTime() <= after);
+        assertEquals(claims.getIssuedAt().toInstant(), issuedAt.toInstant().truncatedTo(ChronoUnit.SECONDS));
+
+        Date legacy = new Date(before / 1000 * 1000);
+        assertEquals(legacy, JwtUtils.getIssuedAt(Jwts.claims().issuedAt(legacy).build()));
+    }
+
+    private UUID userUuid(String userName) {
+        return userRepository.findByUserName(userName).orElseThrow().getUuid();
+    }
+}
@@ -0,0 +1,100 @@
+package de.conti.tires.mandi.backend.user;
+
+import com.google.common.hash.Hashing;
+import de.conti.tires.mandi.backend.core.exception.GenericException;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link RefreshTokenService}: hashed storage, rotation of the single row per user, refresh and purge.
+ */
+@SpringBootTest
+class RefreshTokenServiceTests {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void storesHashOnly() {
+        UUID user = userUuid("x_10");
+        String token = refreshTokenService.createRefreshToken(user);
+
+        RefreshTokenEntity stored = refreshTokenService.findByToken(token).orElseThrow();
+        assertEquals(sha256(token), stored.getTokenHash());
+        assertTrue(refreshTokenRepository.findByTokenHash(token).isEmpty());
+        assertEquals(user, stored.getUser().getUuid());
+    }
+
+    @Test
+    void rotatesRowInPlace() {
+        UUID user = userUuid("x_11");
+        String first = refreshTokenService.createRefreshToken(user);
+        UUID row = refreshTokenService.findByToken(first).orElseThrow().getUuid();
+        long rows = refreshTokenRepository.count();
+
+        String second = refreshTokenService.createRefreshToken(user);
+
+        assertNotEquals(first, second);
+        assertTrue(refreshTokenService.findByToken(first).isEmpty());
+        assertEquals(row, refreshTokenService.findByToken(second).orElseThrow().getUuid());
+        assertEquals(rows, refreshTokenRepository.count());
+    }
+
+    @Test
+    void refreshResolvesPrincipal() {
+        String token = refreshTokenService.createRefreshToken(userUuid("x_12"));
+
+        UserDetailsImpl principal = refreshTokenService.refresh(token);
+
+        assertEquals("x_12", principal.getUsername());
+        assertThrows(GenericException.class, () -> refreshTokenService.refresh(UUID.randomUUID().toString()));
+        assertThrows(GenericException.class, () -> refreshTokenService.refresh(null));
+    }
+
+    @Test
+    void rejectsAndPurgesExpiredTokens() {
+        UUID expiredUser = userUuid("x_13");
+        String expired = refreshTokenService.createRefreshToken(expiredUser);
+        refreshTokenRepository.rotate(expiredUser, sha256(expired), Instant.now().minusSeconds(60));
+        String valid = refreshTokenService.createRefreshToken(userUuid("x_14"));
+
+        assertThrows(GenericException.class, () -> refreshTokenService.refresh(expired));
+
+        refreshTokenService.purgeExpired();
+
+        assertTrue(refreshTokenService.findByToken(expired).isEmpty());
+        assertTrue(refreshTokenService.findByToken(valid).isPresent());
+        // the next login inserts a new row
+        assertTrue(refreshTokenService.findByToken(refreshTokenService.createRefreshToken(expiredUser)).isPresent());
+    }
+
+    @Test
+    void deletesTokenOfUser() {
+        UUID user = userUuid("x_15");
+        String token = refreshTokenService.createRefreshToken(user);
+
+        refreshTokenService.deleteByUserId(user);
+
+        assertTrue(refreshTokenService.findByToken(token).isEmpty());
+    }
+
+    private UUID userUuid(String userName) {
+        return userRepository.findByUserName(userName).orElseThrow().getUuid();
+    }
+
+    private static String sha256(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    }
+}
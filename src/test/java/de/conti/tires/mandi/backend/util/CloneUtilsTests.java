@@ -0,0 +1,97 @@
+package de.conti.tires.mandi.backend.util;
+
+import de.conti.tires.mandi.backend.laboratory.LaboratoryController;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryEntity;
+import de.conti.tires.mandi.backend.laboratory.LaboratoryRepository;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import de.conti.tires.mandi.container.security.services.UserDetailsImpl;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contract of {@link CloneUtils#partialBeanCopy}: only uuid, version and the given properties are copied, all other
+ * properties keep their defaults - readers of a partial previous state must only read the changed properties.
+ */
+@SpringBootTest
+class CloneUtilsTests {
+
+    @Autowired
+    private LaboratoryController laboratoryController;
+    @Autowired
+    private LaboratoryRepository laboratoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void copiesGivenPropertiesOnly() {
+        UserEntity labUser = new UserEntity();
+        LaboratoryEntity source = new LaboratoryEntity();
+        source.setUuid(UUID.randomUUID());
+        source.setVersion(3L);
+        source.setName("Partial Lab");
+        source.setShortName("PART");
+        source.setResultValue(4.5);
+        source.setLabUser(labUser);
+        source.setLabDate(LocalDateTime.now());
+        source.setLabSwitchOn(true);
+
+        LaboratoryEntity copy = CloneUtils.partialBeanCopy(source, Set.of("name", "labUser", "unknown"));
+
+        assertNotSame(source, copy);
+        assertEquals(source.getUuid(), copy.getUuid());
+        assertEquals(3L, copy.getVersion());
+        assertEquals("Partial Lab", copy.getName());
+        assertSame(labUser, copy.getLabUser());
+
+        // not supplied - defaults of the constructor
+        assertNull(copy.getShortName());
+        assertEquals(0.0, copy.getResultValue());
+        assertNull(copy.getLabDate());
+        assertFalse(copy.isLabSwitchOn());
+        assertNull(copy.getCreatedBy());
+    }
+
+    @Test
+    void leavesUnsuppliedReferencesUninitialized() {
+        UserDetailsImpl admin = UserDetailsImpl.build(userRepository.findByUserName("admin").orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        String name = "Partial " + UUID.randomUUID().toString().substring(0, 8);
+        laboratoryController.postItems(List.of(Map.of("name", name, "shortName", "PART", "resultValue", 1.0,
+                "labUser", admin.getUuid().toString())));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            LaboratoryEntity source = laboratoryRepository.findByName(name).orElseThrow();
+
+            LaboratoryEntity copy = CloneUtils.partialBeanCopy(source, Set.of("shortName"));
+
+            assertEquals("PART", copy.getShortName());
+            assertNull(copy.getLabUser());
+            assertFalse(Hibernate.isInitialized(source.getLabUser()));
+            assertFalse(Hibernate.isInitialized(source.getCreatedBy()));
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package de.conti.tires.mandi.container.security.services;
+
+import de.conti.tires.mandi.backend.user.UserController;
+import de.conti.tires.mandi.backend.user.UserEntity;
+import de.conti.tires.mandi.backend.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link PrincipalCache}: principals are cached per token and evicted on writes to the user.
+ */
+@SpringBootTest
+class PrincipalCacheTests {
+
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cachesPrincipalPerToken() {
+        Date issuedAt = new Date();
+        UserDetailsImpl first = get("user", issuedAt);
+        UserDetailsImpl cached = get("user", issuedAt);
+
+        assertSame(first, cached);
+        assertEquals(1, loads.get());
+
+        // a new token (e.g. after a refresh) reloads the user
+        get("user", new Date(issuedAt.getTime() + 1000));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictsAllTokensOfUser() {
+        Date issuedAt = new Date();
+        UserDetailsImpl user = get("user", issuedAt);
+        get("user", new Date(issuedAt.getTime() + 1000));
+        UserDetailsImpl seller = get("seller1", issuedAt);
+
+        principalCache.evict(user.getUuid());
+
+        get("user", issuedAt);
+        get("user", new Date(issuedAt.getTime() + 1000));
+        assertSame(seller, get("seller1", issuedAt));
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void evictsAgainAfterCommit() {
+        Date issuedAt = new Date();
+        UUID uuid = get("user", issuedAt).getUuid();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            principalCache.evict(uuid);
+            // cached by a concurrent request before the commit
+            get("user", issuedAt);
+        });
+
+        get("user", issuedAt);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void rethrowsLoaderException() {
+        assertThrows(UsernameNotFoundException.class, () -> get("unknown " + UUID.randomUUID(), new Date()));
+    }
+
+    @Test
+    void userUpdateEvictsPrincipal() {
+        UserDetailsImpl admin = UserDetailsImpl.build(userRepository.findByUserName("admin").orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        UserEntity user = userRepository.findByUserName("x_1").orElseThrow();
+        Date issuedAt = new Date();
+        get("x_1", issuedAt);
+
+        userController.patchItems(List.of(new HashMap<>(Map.of(
+                "uuid", user.getUuid().toString(), "firstname", "x_fn_1"))));
+
+        get("x_1", issuedAt);
+        assertEquals(2, loads.get());
+    }
+
+    private UserDetailsImpl get(String username, Date issuedAt) {
+        return principalCache.get(username, issuedAt, () -> {
+            loads.incrementAndGet();
+            return (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
+        });
+    }
+}